@@ -0,0 +1,292 @@
+package benchmarks;
+
+import functions.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class ConcurrentTabulatedFunctionBenchmark {
+
+    private static final double TOLERANCE = 1e-12;
+
+    enum Variant {
+        CONCURRENT,
+        SYNCHRONIZED_ARRAY
+    }
+
+    static class Reader implements Runnable {
+        private final TabulatedFunction function;
+        private final Variant variant;
+        private final AtomicBoolean running;
+        private final CountDownLatch start;
+        private final Random random;
+        long operations;
+        long violations;
+
+        Reader(TabulatedFunction function, Variant variant, AtomicBoolean running, CountDownLatch start, long seed) {
+            this.function = function;
+            this.variant = variant;
+            this.running = running;
+            this.start = start;
+            this.random = new Random(seed);
+        }
+
+        public void run() {
+            try {
+                start.await();
+            } catch (InterruptedException e) {
+                return;
+            }
+
+            double[] batch = new double[64];
+            double[] values = new double[64];
+            long rounds = 0;
+            while (running.get()) {
+                for (int i = 0; i < 1024; i++) {
+                    double x = random.nextDouble();
+                    double y;
+                    if (variant == Variant.CONCURRENT) {
+                        y = function.getFunctionValue(x);
+                    } else {
+                        synchronized (function) {
+                            y = function.getFunctionValue(x);
+                        }
+                    }
+                    if (!(y >= -TOLERANCE && y <= 1.0 + TOLERANCE)) {
+                        violations++;
+                    }
+                }
+                operations += 1024;
+
+                if (variant == Variant.CONCURRENT && (++rounds & 63) == 0) {
+                    for (int i = 0; i < batch.length; i++) {
+                        batch[i] = (i + random.nextDouble()) / batch.length;
+                    }
+                    function.getFunctionValues(batch, values);
+                    for (double y : values) {
+                        if (!(y >= -TOLERANCE && y <= 1.0 + TOLERANCE)) {
+                            violations++;
+                        }
+                    }
+                    FunctionPointCursor cursor = function.cursor();
+                    double previousX = Double.NEGATIVE_INFINITY;
+                    while (cursor.next()) {
+                        if (!(cursor.getX() > previousX)) {
+                            violations++;
+                        }
+                        previousX = cursor.getX();
+                    }
+                }
+            }
+        }
+    }
+
+    static class Mutator implements Runnable {
+        private final TabulatedFunction function;
+        private final Variant variant;
+        private final AtomicBoolean running;
+        private final CountDownLatch start;
+        private final Random random = new Random(7);
+        final AtomicLong mutations = new AtomicLong();
+        volatile Throwable failure;
+
+        Mutator(TabulatedFunction function, Variant variant, AtomicBoolean running, CountDownLatch start) {
+            this.function = function;
+            this.variant = variant;
+            this.running = running;
+            this.start = start;
+        }
+
+        private void mutate() throws InappropriateFunctionPointException {
+            int count = function.getPointsCount();
+            switch (random.nextInt(3)) {
+                case 0:
+                    function.setPointY(random.nextInt(count), random.nextDouble());
+                    break;
+                case 1:
+                    try {
+                        function.addPoint(new FunctionPoint(random.nextDouble(), random.nextDouble()));
+                    } catch (InappropriateFunctionPointException e) {
+                        return;
+                    }
+                    break;
+                default:
+                    if (count > 3) {
+                        function.deletePoint(1 + random.nextInt(count - 2));
+                    }
+                    break;
+            }
+            mutations.incrementAndGet();
+        }
+
+        public void run() {
+            try {
+                start.await();
+                while (running.get()) {
+                    if (variant == Variant.CONCURRENT) {
+                        mutate();
+                    } else {
+                        synchronized (function) {
+                            mutate();
+                        }
+                    }
+                    Thread.sleep(0, 100000);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Throwable e) {
+                failure = e;
+            }
+        }
+    }
+
+    static class Result {
+        final Variant variant;
+        final int readers;
+        final double readsPerSecond;
+        final long mutations;
+        final long violations;
+
+        Result(Variant variant, int readers, double readsPerSecond, long mutations, long violations) {
+            this.variant = variant;
+            this.readers = readers;
+            this.readsPerSecond = readsPerSecond;
+            this.mutations = mutations;
+            this.violations = violations;
+        }
+    }
+
+    static TabulatedFunction create(Variant variant, int size) {
+        Random random = new Random(1);
+        double[] values = new double[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = random.nextDouble();
+        }
+        return variant == Variant.CONCURRENT
+            ? new ConcurrentTabulatedFunction(0.0, 1.0, values)
+            : new ArrayTabulatedFunction(0.0, 1.0, values);
+    }
+
+    static Result run(Variant variant, int readers, int size, long millis) throws Exception {
+        TabulatedFunction function = create(variant, size);
+        AtomicBoolean running = new AtomicBoolean(true);
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<Reader> readerTasks = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < readers; i++) {
+            Reader reader = new Reader(function, variant, running, start, 100 + i);
+            readerTasks.add(reader);
+            threads.add(new Thread(reader, "reader-" + i));
+        }
+        Mutator writer = new Mutator(function, variant, running, start);
+        threads.add(new Thread(writer, "writer"));
+
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        Thread.sleep(millis);
+        running.set(false);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        double seconds = (System.nanoTime() - begin) / 1e9;
+
+        if (writer.failure != null) {
+            throw new IllegalStateException("Ошибка в потоке записи", writer.failure);
+        }
+        long operations = 0;
+        long violations = 0;
+        for (Reader reader : readerTasks) {
+            operations += reader.operations;
+            violations += reader.violations;
+        }
+        return new Result(variant, readers, operations / seconds, writer.mutations.get(), violations);
+    }
+
+    static void writeJson(List<Result> results, int size, java.io.Writer writer) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        sb.append("[\n");
+        for (int r = 0; r < results.size(); r++) {
+            Result result = results.get(r);
+            sb.append("    {\n");
+            sb.append("        \"benchmark\" : \"functions.concurrentGetFunctionValue\",\n");
+            sb.append("        \"mode\" : \"thrpt\",\n");
+            sb.append("        \"threads\" : ").append(result.readers).append(",\n");
+            sb.append("        \"params\" : {\n");
+            sb.append("            \"implementation\" : \"").append(result.variant).append("\",\n");
+            sb.append("            \"size\" : \"").append(size).append("\"\n");
+            sb.append("        },\n");
+            sb.append("        \"primaryMetric\" : {\n");
+            sb.append("            \"score\" : ").append(result.readsPerSecond).append(",\n");
+            sb.append("            \"scoreUnit\" : \"ops/s\"\n");
+            sb.append("        },\n");
+            sb.append("        \"secondaryMetrics\" : {\n");
+            sb.append("            \"mutations\" : { \"score\" : ").append(result.mutations).append(", \"scoreUnit\" : \"#\" },\n");
+            sb.append("            \"violations\" : { \"score\" : ").append(result.violations).append(", \"scoreUnit\" : \"#\" }\n");
+            sb.append("        }\n");
+            sb.append(r + 1 < results.size() ? "    },\n" : "    }\n");
+        }
+        sb.append("]\n");
+        writer.write(sb.toString());
+    }
+
+    public static void main(String[] args) throws Exception {
+        int maxReaders = Runtime.getRuntime().availableProcessors();
+        int size = 100000;
+        long millis = 1000;
+        String output = "concurrent-tabulated-function-benchmark.json";
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "-t":
+                    maxReaders = Integer.parseInt(args[i + 1]);
+                    break;
+                case "-size":
+                    size = Integer.parseInt(args[i + 1]);
+                    break;
+                case "-time":
+                    millis = Long.parseLong(args[i + 1]);
+                    break;
+                case "-o":
+                    output = args[i + 1];
+                    break;
+                default:
+                    throw new IllegalArgumentException("Неизвестный параметр " + args[i]);
+            }
+        }
+
+        List<Result> results = new ArrayList<>();
+        long violations = 0;
+        for (Variant variant : Variant.values()) {
+            for (int readers = 1; readers <= maxReaders; readers *= 2) {
+                Result result = run(variant, readers, size, millis);
+                results.add(result);
+                violations += result.violations;
+                System.out.printf(Locale.ROOT, "%-20s %3d readers %16.0f reads/s %10d mutations %6d violations%n",
+                    variant, readers, result.readsPerSecond, result.mutations, result.violations);
+                if (readers < maxReaders && readers * 2 > maxReaders) {
+                    readers = maxReaders / 2;
+                }
+            }
+        }
+
+        try (java.io.Writer writer = Files.newBufferedWriter(Paths.get(output), StandardCharsets.UTF_8)) {
+            writeJson(results, size, writer);
+        }
+        System.out.println("Результаты записаны в " + output);
+        if (violations > 0) {
+            throw new IllegalStateException("Обнаружены несогласованные чтения: " + violations);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,123 @@
+package benchmarks;
+
+import functions.*;
+
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+import java.util.Random;
+
+public class JournalReplicationCheck {
+
+    static void mutate(TabulatedFunction function, Random random) {
+        int count = function.getPointsCount();
+        int index = random.nextInt(count);
+        try {
+            switch (random.nextInt(6)) {
+                case 0:
+                    function.setPointY(index, random.nextDouble());
+                    break;
+                case 1:
+                    function.setPointX(index, function.getPointX(index) + (random.nextDouble() - 0.5) * 1e-3);
+                    break;
+                case 2:
+                    function.setPoint(index, new FunctionPoint(function.getPointX(index), random.nextDouble()));
+                    break;
+                case 3:
+                    if (count > 3) {
+                        function.deletePoint(index);
+                    }
+                    break;
+                case 4: {
+                    FunctionPointCursor cursor = function.cursor();
+                    while (cursor.next()) {
+                        if (random.nextInt(8) == 0) {
+                            cursor.setY(cursor.getY() + 1);
+                        }
+                    }
+                    break;
+                }
+                default:
+                    function.addPoint(new FunctionPoint(random.nextDouble() * 100, random.nextDouble()));
+                    break;
+            }
+        } catch (InappropriateFunctionPointException ignored) {
+        }
+    }
+
+    static void compare(TabulatedFunction primary, TabulatedFunction replica, int round) {
+        if (primary.getPointsCount() != replica.getPointsCount()) {
+            throw new IllegalStateException("Раунд " + round + ": количество точек " + primary.getPointsCount() +
+                " у источника и " + replica.getPointsCount() + " у реплики");
+        }
+        for (int i = 0; i < primary.getPointsCount(); i++) {
+            if (Double.doubleToLongBits(primary.getPointX(i)) != Double.doubleToLongBits(replica.getPointX(i)) ||
+                Double.doubleToLongBits(primary.getPointY(i)) != Double.doubleToLongBits(replica.getPointY(i))) {
+                throw new IllegalStateException("Раунд " + round + ": точка " + i + " источника " + primary.getPoint(i) +
+                    " не совпадает с точкой реплики " + replica.getPoint(i));
+            }
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int rounds = 200;
+        int size = 1000;
+        long seed = 1;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "-rounds":
+                    rounds = Integer.parseInt(args[i + 1]);
+                    break;
+                case "-size":
+                    size = Integer.parseInt(args[i + 1]);
+                    break;
+                case "-seed":
+                    seed = Long.parseLong(args[i + 1]);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Неизвестный параметр " + args[i]);
+            }
+        }
+
+        Random random = new Random(seed);
+        double[] values = new double[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = random.nextDouble();
+        }
+        JournaledTabulatedFunction primary = new JournaledTabulatedFunction(new ArrayTabulatedFunction(0, 100, values));
+        JournaledTabulatedFunction replica = new JournaledTabulatedFunction(new LinkedListTabulatedFunction(0, 100, values));
+
+        Path journal = Files.createTempFile("journal", ".bin");
+        long records = 0;
+        try {
+            for (int round = 1; round <= rounds; round++) {
+                int mutations = random.nextInt(64);
+                for (int i = 0; i < mutations; i++) {
+                    mutate(primary, random);
+                }
+
+                try (FileChannel channel = FileChannel.open(journal, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                    primary.writeChanges(replica.getVersion(), channel);
+                }
+                try (FileChannel channel = FileChannel.open(journal, StandardOpenOption.READ)) {
+                    records += replica.apply(channel);
+                }
+                if (replica.getVersion() != primary.getVersion()) {
+                    throw new IllegalStateException("Раунд " + round + ": версия реплики " + replica.getVersion() +
+                        ", версия источника " + primary.getVersion());
+                }
+                compare(primary, replica, round);
+                if (round % 16 == 0) {
+                    primary.discardChangesBefore(replica.getVersion());
+                    replica.discardChangesBefore(replica.getVersion());
+                }
+            }
+        } finally {
+            Files.deleteIfExists(journal);
+        }
+        System.out.printf(Locale.ROOT, "%d rounds %d records %d points: replica matches%n",
+            rounds, records, primary.getPointsCount());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,71 @@
+package benchmarks;
+
+import functions.*;
+
+import java.util.Locale;
+import java.util.function.DoubleUnaryOperator;
+
+public class RefineErrorCheck {
+
+    static class Case {
+        final String name;
+        final DoubleUnaryOperator function;
+        final double leftX;
+        final double rightX;
+
+        Case(String name, DoubleUnaryOperator function, double leftX, double rightX) {
+            this.name = name;
+            this.function = function;
+            this.leftX = leftX;
+            this.rightX = rightX;
+        }
+    }
+
+    static double maxError(Case c, TabulatedFunction table, int samples) {
+        double error = 0;
+        for (int i = 0; i <= samples; i++) {
+            double x = i == samples ? c.rightX : c.leftX + (c.rightX - c.leftX) * i / samples;
+            error = Math.max(error, Math.abs(table.getFunctionValue(x) - c.function.applyAsDouble(x)));
+        }
+        return error;
+    }
+
+    public static void main(String[] args) {
+        int samples = 1000000;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "-samples":
+                    samples = Integer.parseInt(args[i + 1]);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Неизвестный параметр " + args[i]);
+            }
+        }
+
+        Case[] cases = {
+            new Case("sin(50x)", x -> Math.sin(50 * x), 0, 10),
+            new Case("sin(x)*x^2", x -> Math.sin(x) * x * x, 0, 10),
+            new Case("exp(x)", Math::exp, 0, 10),
+            new Case("sqrt|x-3|", x -> Math.sqrt(Math.abs(x - 3)), 0, 10),
+            new Case("sin(1/(x+0.05))", x -> Math.sin(1 / (x + 0.05)), 0, 10)
+        };
+        double[] epsilons = {1e-2, 1e-3, 1e-5};
+
+        int failures = 0;
+        for (Case c : cases) {
+            for (double epsilon : epsilons) {
+                ArrayTabulatedFunction table = TabulatedFunctions.refine(c.function, c.leftX, c.rightX, epsilon);
+                double error = maxError(c, table, samples);
+                boolean ok = error <= epsilon;
+                if (!ok) {
+                    failures++;
+                }
+                System.out.printf(Locale.ROOT, "%-16s eps %-8.0e %8d points max error %.3e %s%n",
+                    c.name, epsilon, table.getPointsCount(), error, ok ? "OK" : "FAIL");
+            }
+        }
+        if (failures > 0) {
+            throw new IllegalStateException("Погрешность refine превысила заданную в " + failures + " случаях");
+        }
+    }
+}
\ No newline at end of file
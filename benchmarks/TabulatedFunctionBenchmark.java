@@ -0,0 +1,603 @@
+package benchmarks;
+
+import functions.*;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+public class TabulatedFunctionBenchmark {
+
+    private static final int QUERY_COUNT = 1 << 12;
+    private static final int MAX_MUTATION_BATCH = 1 << 10;
+
+    private static volatile double sink;
+
+    enum Implementation {
+        ARRAY {
+            TabulatedFunction create(double[] values) {
+                return new ArrayTabulatedFunction(0.0, 1.0, values);
+            }
+        },
+        ARRAY_MONOTONE {
+            TabulatedFunction create(double[] values) {
+                ArrayTabulatedFunction function = new ArrayTabulatedFunction(0.0, 1.0, values);
+                function.setInterpolationMode(InterpolationMode.MONOTONE);
+                return function;
+            }
+        },
+        LINKED_LIST {
+            TabulatedFunction create(double[] values) {
+                return new LinkedListTabulatedFunction(0.0, 1.0, values);
+            }
+        },
+        LINKED_LIST_INDEXED {
+            TabulatedFunction create(double[] values) {
+                LinkedListTabulatedFunction function = new LinkedListTabulatedFunction(0.0, 1.0, values);
+                function.setIndexed(true);
+                return function;
+            }
+        };
+
+        abstract TabulatedFunction create(double[] values);
+    }
+
+    static class Fixture {
+        final Implementation implementation;
+        final int size;
+        final double[] values;
+        final double[] randomX;
+        final double[] sortedX;
+        final double[] batchOut;
+        final int[] randomIndices;
+        final Random random = new Random(42);
+        TabulatedFunction function;
+        long cursor;
+        long allocated;
+        private long allocatedAtStart;
+
+        Fixture(Implementation implementation, int size) {
+            this.implementation = implementation;
+            this.size = size;
+            this.values = new double[size];
+            for (int i = 0; i < size; i++) {
+                values[i] = Math.sin(i * 0.001);
+            }
+            this.randomX = new double[QUERY_COUNT];
+            this.randomIndices = new int[QUERY_COUNT];
+            for (int i = 0; i < QUERY_COUNT; i++) {
+                randomX[i] = random.nextDouble();
+                randomIndices[i] = random.nextInt(size);
+            }
+            this.sortedX = randomX.clone();
+            Arrays.sort(sortedX);
+            this.batchOut = new double[QUERY_COUNT];
+            this.function = implementation.create(values);
+        }
+
+        long start() {
+            allocatedAtStart = allocatedBytes();
+            return System.nanoTime();
+        }
+
+        long stop(long start) {
+            long elapsed = System.nanoTime() - start;
+            allocated += allocatedBytes() - allocatedAtStart;
+            return elapsed;
+        }
+
+        int mutationBatch() {
+            return Math.max(1, Math.min(MAX_MUTATION_BATCH, size / 2));
+        }
+
+        int[] distinctIndices(int count, int bound) {
+            int[] indices = new int[count];
+            boolean[] used = new boolean[bound];
+            for (int i = 0; i < count; i++) {
+                int index;
+                do {
+                    index = random.nextInt(bound);
+                } while (used[index]);
+                used[index] = true;
+                indices[i] = index;
+            }
+            return indices;
+        }
+    }
+
+    abstract static class Benchmark {
+        final String name;
+
+        Benchmark(String name) {
+            this.name = name;
+        }
+
+        int maxOperations(Fixture fixture) {
+            return Integer.MAX_VALUE;
+        }
+
+        abstract long run(Fixture fixture, int operations) throws InappropriateFunctionPointException;
+    }
+
+    abstract static class RejectingAddBenchmark extends Benchmark {
+        RejectingAddBenchmark(String name) {
+            super(name);
+        }
+
+        int maxOperations(Fixture fixture) {
+            return Math.min(fixture.mutationBatch(), fixture.size - 1);
+        }
+
+        abstract boolean add(TabulatedFunction function, FunctionPoint point);
+
+        long run(Fixture fixture, int operations) {
+            TabulatedFunction function = fixture.function;
+            int[] segments = fixture.distinctIndices(operations, fixture.size - 1);
+            double step = 1.0 / (fixture.size - 1);
+            FunctionPoint[] points = new FunctionPoint[operations];
+            int[] accepted = new int[operations];
+            int acceptedCount = 0;
+            for (int i = 0; i < operations; i++) {
+                if (i % 10 < 3) {
+                    points[i] = new FunctionPoint(function.getPointX(segments[i]), 1.0);
+                } else {
+                    points[i] = new FunctionPoint((segments[i] + 0.25 + 0.5 * fixture.random.nextDouble()) * step, 1.0);
+                    accepted[acceptedCount++] = segments[i];
+                }
+            }
+
+            int rejected = 0;
+            long start = fixture.start();
+            for (int i = 0; i < operations; i++) {
+                if (!add(function, points[i])) {
+                    rejected++;
+                }
+            }
+            long elapsed = fixture.stop(start);
+            sink = rejected;
+
+            Arrays.sort(accepted, 0, acceptedCount);
+            for (int i = acceptedCount - 1; i >= 0; i--) {
+                function.deletePoint(accepted[i] + i + 1);
+            }
+            return elapsed;
+        }
+    }
+
+    static final List<Benchmark> BENCHMARKS = new ArrayList<>();
+
+    static {
+        BENCHMARKS.add(new Benchmark("getFunctionValueRandom") {
+            long run(Fixture fixture, int operations) {
+                TabulatedFunction function = fixture.function;
+                double[] queries = fixture.randomX;
+                double sum = 0;
+                long start = fixture.start();
+                for (int i = 0; i < operations; i++) {
+                    sum += function.getFunctionValue(queries[i & (QUERY_COUNT - 1)]);
+                }
+                long elapsed = fixture.stop(start);
+                sink = sum;
+                return elapsed;
+            }
+        });
+        BENCHMARKS.add(new Benchmark("getFunctionValueSequential") {
+            long run(Fixture fixture, int operations) {
+                TabulatedFunction function = fixture.function;
+                long steps = 2L * fixture.size;
+                long position = fixture.cursor;
+                double sum = 0;
+                long start = fixture.start();
+                for (int i = 0; i < operations; i++) {
+                    sum += function.getFunctionValue((double) position / steps);
+                    if (++position > steps) {
+                        position = 0;
+                    }
+                }
+                long elapsed = fixture.stop(start);
+                fixture.cursor = position;
+                sink = sum;
+                return elapsed;
+            }
+        });
+        BENCHMARKS.add(new Benchmark("getFunctionValuesBatch") {
+            long run(Fixture fixture, int operations) {
+                TabulatedFunction function = fixture.function;
+                double[] queries = fixture.sortedX;
+                double[] out = fixture.batchOut;
+                double sum = 0;
+                long start = fixture.start();
+                for (int done = 0; done < operations; done += QUERY_COUNT) {
+                    int length = Math.min(QUERY_COUNT, operations - done);
+                    function.getFunctionValues(queries, 0, out, 0, length);
+                    sum += out[length - 1];
+                }
+                long elapsed = fixture.stop(start);
+                sink = sum;
+                return elapsed;
+            }
+        });
+        BENCHMARKS.add(new Benchmark("getFunctionValueOutOfDomain") {
+            long run(Fixture fixture, int operations) {
+                TabulatedFunction function = fixture.function;
+                double[] queries = fixture.randomX;
+                double sum = 0;
+                long start = fixture.start();
+                for (int i = 0; i < operations; i++) {
+                    double x = queries[i & (QUERY_COUNT - 1)];
+                    sum += function.getFunctionValue((i & 1) == 0 ? x + 1.5 : x - 1.5);
+                }
+                long elapsed = fixture.stop(start);
+                sink = sum;
+                return elapsed;
+            }
+        });
+        BENCHMARKS.add(new Benchmark("getPoint") {
+            long run(Fixture fixture, int operations) {
+                TabulatedFunction function = fixture.function;
+                int[] indices = fixture.randomIndices;
+                double sum = 0;
+                long start = fixture.start();
+                for (int i = 0; i < operations; i++) {
+                    sum += function.getPoint(indices[i & (QUERY_COUNT - 1)]).getY();
+                }
+                long elapsed = fixture.stop(start);
+                sink = sum;
+                return elapsed;
+            }
+        });
+        BENCHMARKS.add(new Benchmark("getPointIteration") {
+            long run(Fixture fixture, int operations) {
+                TabulatedFunction function = fixture.function;
+                int size = function.getPointsCount();
+                int index = (int) (fixture.cursor % size);
+                double sum = 0;
+                long start = fixture.start();
+                for (int i = 0; i < operations; i++) {
+                    sum += function.getPoint(index).getY();
+                    if (++index == size) {
+                        index = 0;
+                    }
+                }
+                long elapsed = fixture.stop(start);
+                fixture.cursor = index;
+                sink = sum;
+                return elapsed;
+            }
+        });
+        BENCHMARKS.add(new Benchmark("cursorIteration") {
+            long run(Fixture fixture, int operations) {
+                TabulatedFunction function = fixture.function;
+                double sum = 0;
+                long start = fixture.start();
+                FunctionPointCursor cursor = function.cursor();
+                for (int i = 0; i < operations; i++) {
+                    if (!cursor.next()) {
+                        cursor = function.cursor();
+                        cursor.next();
+                    }
+                    sum += cursor.getX() + cursor.getY();
+                }
+                long elapsed = fixture.stop(start);
+                sink = sum;
+                return elapsed;
+            }
+        });
+        BENCHMARKS.add(new Benchmark("cursorUpdate") {
+            long run(Fixture fixture, int operations) {
+                TabulatedFunction function = fixture.function;
+                long start = fixture.start();
+                FunctionPointCursor cursor = function.cursor();
+                for (int i = 0; i < operations; i++) {
+                    if (!cursor.next()) {
+                        cursor = function.cursor();
+                        cursor.next();
+                    }
+                    cursor.setY(-cursor.getY());
+                }
+                return fixture.stop(start);
+            }
+        });
+        BENCHMARKS.add(new Benchmark("addPoint") {
+            int maxOperations(Fixture fixture) {
+                return Math.min(fixture.mutationBatch(), fixture.size - 1);
+            }
+
+            long run(Fixture fixture, int operations) throws InappropriateFunctionPointException {
+                TabulatedFunction function = fixture.function;
+                int[] segments = fixture.distinctIndices(operations, fixture.size - 1);
+                double step = 1.0 / (fixture.size - 1);
+                FunctionPoint[] points = new FunctionPoint[operations];
+                for (int i = 0; i < operations; i++) {
+                    points[i] = new FunctionPoint((segments[i] + 0.25 + 0.5 * fixture.random.nextDouble()) * step, 1.0);
+                }
+
+                long start = fixture.start();
+                for (int i = 0; i < operations; i++) {
+                    function.addPoint(points[i]);
+                }
+                long elapsed = fixture.stop(start);
+
+                Arrays.sort(segments);
+                for (int i = operations - 1; i >= 0; i--) {
+                    function.deletePoint(segments[i] + i + 1);
+                }
+                return elapsed;
+            }
+        });
+        BENCHMARKS.add(new RejectingAddBenchmark("addPointRejected") {
+            boolean add(TabulatedFunction function, FunctionPoint point) {
+                try {
+                    function.addPoint(point);
+                    return true;
+                } catch (InappropriateFunctionPointException e) {
+                    return false;
+                }
+            }
+        });
+        BENCHMARKS.add(new RejectingAddBenchmark("tryAddPointRejected") {
+            boolean add(TabulatedFunction function, FunctionPoint point) {
+                return function.tryAddPoint(point);
+            }
+        });
+        BENCHMARKS.add(new Benchmark("deletePoint") {
+            int maxOperations(Fixture fixture) {
+                return fixture.mutationBatch();
+            }
+
+            long run(Fixture fixture, int operations) throws InappropriateFunctionPointException {
+                TabulatedFunction function = fixture.function;
+                int[] indices = fixture.distinctIndices(operations, fixture.size);
+                int[] shifted = new int[operations];
+                FunctionPoint[] removed = new FunctionPoint[operations];
+                for (int i = 0; i < operations; i++) {
+                    int shift = 0;
+                    for (int j = 0; j < i; j++) {
+                        if (indices[j] < indices[i]) {
+                            shift++;
+                        }
+                    }
+                    shifted[i] = indices[i] - shift;
+                    removed[i] = function.getPoint(indices[i]);
+                }
+
+                long start = fixture.start();
+                for (int i = 0; i < operations; i++) {
+                    function.deletePoint(shifted[i]);
+                }
+                long elapsed = fixture.stop(start);
+
+                for (int i = 0; i < operations; i++) {
+                    function.addPoint(removed[i]);
+                }
+                return elapsed;
+            }
+        });
+        BENCHMARKS.add(new Benchmark("construct") {
+            long run(Fixture fixture, int operations) {
+                double sum = 0;
+                long start = fixture.start();
+                for (int i = 0; i < operations; i++) {
+                    sum += fixture.implementation.create(fixture.values).getPointsCount();
+                }
+                long elapsed = fixture.stop(start);
+                sink = sum;
+                return elapsed;
+            }
+        });
+    }
+
+    static class Options {
+        int[] sizes = {10, 100, 1000, 10000, 100000, 1000000, 10000000};
+        List<Implementation> implementations = new ArrayList<>(Arrays.asList(Implementation.values()));
+        String filter = "";
+        int warmupIterations = 3;
+        int measurementIterations = 5;
+        long iterationMillis = 200;
+        String output = "tabulated-function-benchmark.json";
+    }
+
+    static class Result {
+        final String benchmark;
+        final Implementation implementation;
+        final int size;
+        final double[] scores;
+        final double[] allocations;
+
+        Result(String benchmark, Implementation implementation, int size, double[] scores, double[] allocations) {
+            this.benchmark = benchmark;
+            this.implementation = implementation;
+            this.size = size;
+            this.scores = scores;
+            this.allocations = allocations;
+        }
+
+        static double mean(double[] values) {
+            double sum = 0;
+            for (double value : values) {
+                sum += value;
+            }
+            return sum / values.length;
+        }
+
+        static double error(double[] values) {
+            if (values.length < 2) {
+                return Double.NaN;
+            }
+            double mean = mean(values);
+            double sum = 0;
+            for (double value : values) {
+                sum += (value - mean) * (value - mean);
+            }
+            return 2.0 * Math.sqrt(sum / (values.length - 1)) / Math.sqrt(values.length);
+        }
+    }
+
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return 0;
+    }
+
+    private static boolean allocationCounting() {
+        return ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean;
+    }
+
+    static double[] measureIteration(Benchmark benchmark, Fixture fixture, long iterationNanos)
+            throws InappropriateFunctionPointException {
+        int limit = benchmark.maxOperations(fixture);
+        int operations = 1;
+        long elapsed = 0;
+        long total = 0;
+        fixture.allocated = 0;
+        long deadline = System.nanoTime() + iterationNanos;
+        while (System.nanoTime() < deadline) {
+            elapsed += benchmark.run(fixture, operations);
+            total += operations;
+            if (operations < limit) {
+                operations = (int) Math.min(limit, 2L * operations);
+            }
+        }
+        return new double[] {(double) elapsed / total, allocationCounting() ? (double) fixture.allocated / total : Double.NaN};
+    }
+
+    static List<Result> run(Options options, List<Benchmark> benchmarks, PrintStream log)
+            throws InappropriateFunctionPointException {
+        List<Result> results = new ArrayList<>();
+        long iterationNanos = options.iterationMillis * 1000000L;
+
+        for (Implementation implementation : options.implementations) {
+            for (int size : options.sizes) {
+                Fixture fixture = new Fixture(implementation, size);
+                for (Benchmark benchmark : benchmarks) {
+                    if (!benchmark.name.contains(options.filter)) {
+                        continue;
+                    }
+                    for (int i = 0; i < options.warmupIterations; i++) {
+                        measureIteration(benchmark, fixture, iterationNanos);
+                    }
+                    double[] scores = new double[options.measurementIterations];
+                    double[] allocations = new double[options.measurementIterations];
+                    for (int i = 0; i < scores.length; i++) {
+                        double[] measurement = measureIteration(benchmark, fixture, iterationNanos);
+                        scores[i] = measurement[0];
+                        allocations[i] = measurement[1];
+                    }
+                    Result result = new Result(benchmark.name, implementation, size, scores, allocations);
+                    results.add(result);
+                    log.printf(Locale.ROOT, "%-30s %-20s %10d %14.3f ± %.3f ns/op %12.3f B/op%n",
+                        benchmark.name, implementation, size,
+                        Result.mean(scores), Result.error(scores), Result.mean(allocations));
+                }
+                fixture.function = null;
+            }
+        }
+        return results;
+    }
+
+    static void writeJson(List<Result> results, Options options, Writer writer) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        sb.append("[\n");
+        for (int r = 0; r < results.size(); r++) {
+            Result result = results.get(r);
+            sb.append("    {\n");
+            sb.append("        \"benchmark\" : \"functions.").append(result.benchmark).append("\",\n");
+            sb.append("        \"mode\" : \"avgt\",\n");
+            sb.append("        \"warmupIterations\" : ").append(options.warmupIterations).append(",\n");
+            sb.append("        \"warmupTime\" : \"").append(options.iterationMillis).append(" ms\",\n");
+            sb.append("        \"measurementIterations\" : ").append(options.measurementIterations).append(",\n");
+            sb.append("        \"measurementTime\" : \"").append(options.iterationMillis).append(" ms\",\n");
+            sb.append("        \"params\" : {\n");
+            sb.append("            \"implementation\" : \"").append(result.implementation).append("\",\n");
+            sb.append("            \"size\" : \"").append(result.size).append("\"\n");
+            sb.append("        },\n");
+            sb.append("        \"primaryMetric\" : {\n");
+            sb.append("            \"score\" : ").append(jsonNumber(Result.mean(result.scores))).append(",\n");
+            sb.append("            \"scoreError\" : ").append(jsonNumber(Result.error(result.scores))).append(",\n");
+            sb.append("            \"scoreUnit\" : \"ns/op\",\n");
+            sb.append("            \"rawData\" : [\n                [\n");
+            for (int i = 0; i < result.scores.length; i++) {
+                sb.append("                    ").append(jsonNumber(result.scores[i]));
+                sb.append(i + 1 < result.scores.length ? ",\n" : "\n");
+            }
+            sb.append("                ]\n            ]\n");
+            sb.append("        },\n");
+            sb.append("        \"secondaryMetrics\" : {\n");
+            sb.append("            \"·gc.alloc.rate.norm\" : {\n");
+            sb.append("                \"score\" : ").append(jsonNumber(Result.mean(result.allocations))).append(",\n");
+            sb.append("                \"scoreError\" : ").append(jsonNumber(Result.error(result.allocations))).append(",\n");
+            sb.append("                \"scoreUnit\" : \"B/op\"\n");
+            sb.append("            }\n");
+            sb.append("        }\n");
+            sb.append(r + 1 < results.size() ? "    },\n" : "    }\n");
+        }
+        sb.append("]\n");
+        writer.write(sb.toString());
+    }
+
+    private static String jsonNumber(double value) {
+        return Double.isNaN(value) || Double.isInfinite(value) ? "\"NaN\"" : Double.toString(value);
+    }
+
+    static Options parseOptions(String[] args) {
+        Options options = new Options();
+        for (int i = 0; i < args.length; i++) {
+            String value = (i + 1 < args.length) ? args[i + 1] : null;
+            switch (args[i]) {
+                case "-sizes":
+                    String[] parts = value.split(",");
+                    options.sizes = new int[parts.length];
+                    for (int j = 0; j < parts.length; j++) {
+                        options.sizes[j] = Integer.parseInt(parts[j].trim());
+                    }
+                    break;
+                case "-impl":
+                    options.implementations.clear();
+                    for (String name : value.split(",")) {
+                        options.implementations.add(Implementation.valueOf(name.trim()));
+                    }
+                    break;
+                case "-wi":
+                    options.warmupIterations = Integer.parseInt(value);
+                    break;
+                case "-i":
+                    options.measurementIterations = Integer.parseInt(value);
+                    break;
+                case "-time":
+                    options.iterationMillis = Long.parseLong(value);
+                    break;
+                case "-o":
+                    options.output = value;
+                    break;
+                default:
+                    if (args[i].startsWith("-")) {
+                        throw new IllegalArgumentException("Неизвестный параметр " + args[i]);
+                    }
+                    options.filter = args[i];
+                    continue;
+            }
+            i++;
+        }
+        return options;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = parseOptions(args);
+        List<Result> results = run(options, BENCHMARKS, System.out);
+        try (Writer writer = Files.newBufferedWriter(Paths.get(options.output), StandardCharsets.UTF_8)) {
+            writeJson(results, options, writer);
+        }
+        System.out.println("Результаты записаны в " + options.output);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,62 @@
+#!/bin/sh
+# Usage: ./build.sh [compile | test | bench [benchmark options] | all]
+# Requires JDK 17 or newer; set JAVA_HOME to pick a specific one.
+set -e
+cd "$(dirname "$0")"
+
+if [ -n "$JAVA_HOME" ]; then
+    JAVAC="$JAVA_HOME/bin/javac"
+    JAVA="$JAVA_HOME/bin/java"
+else
+    JAVAC=javac
+    JAVA=java
+fi
+
+BUILD_DIR=build
+CLASSES="$BUILD_DIR/classes"
+JAVAC_OPTIONS="--release 17 -encoding UTF-8 -Xlint:all -Werror"
+
+compile() {
+    rm -rf "$CLASSES"
+    mkdir -p "$CLASSES"
+    $JAVAC $JAVAC_OPTIONS -d "$CLASSES" functions/*.java benchmarks/*.java Main.java
+}
+
+run_tests() {
+    $JAVA -cp "$CLASSES" Main
+    $JAVA -cp "$CLASSES" benchmarks.RefineErrorCheck
+    $JAVA -cp "$CLASSES" benchmarks.JournalReplicationCheck
+    $JAVA -cp "$CLASSES" benchmarks.ConcurrentTabulatedFunctionBenchmark -t 4 -size 10000 -time 200 \
+        -o "$BUILD_DIR/concurrent-tabulated-function-benchmark.json"
+}
+
+run_benchmarks() {
+    $JAVA -cp "$CLASSES" benchmarks.TabulatedFunctionBenchmark -o "$BUILD_DIR/tabulated-function-benchmark.json" "$@"
+}
+
+target="${1:-all}"
+if [ $# -gt 0 ]; then
+    shift
+fi
+case "$target" in
+    compile)
+        compile
+        ;;
+    test)
+        compile
+        run_tests
+        ;;
+    bench)
+        compile
+        run_benchmarks "$@"
+        ;;
+    all)
+        compile
+        run_tests
+        run_benchmarks "$@"
+        ;;
+    *)
+        echo "Неизвестная цель: $target (compile, test, bench, all)" >&2
+        exit 1
+        ;;
+esac
@@ -1,9 +1,26 @@
 package functions;
 
 public class ArrayTabulatedFunction implements TabulatedFunction {
-    private FunctionPoint[] points; 
+    private double[] xValues;
+    private double[] yValues;
+    private double[] slopes;
+    private double[] derivatives;
+    private double[] quadratic;
+    private double[] cubic;
+    private InterpolationMode interpolation = InterpolationMode.LINEAR;
+    private boolean splineValid = true;
+    private double[] areaTree;
+    private double[] rangeMin;
+    private double[] rangeMax;
+    private byte[] rangeOrder;
+    private int rangeLeaves;
+    private SearchStatistics statistics;
     private int pointsCount;
+    private boolean uniform;
+    private double step;
     private static final double EPSILON = 1e-10;
+    private static final byte RISING = 1;
+    private static final byte FALLING = 2;
     
     private boolean doubleEquals(double a, double b) {
         return Math.abs(a - b) < EPSILON;
@@ -18,14 +35,16 @@ public class ArrayTabulatedFunction implements TabulatedFunction {
         }
 
         this.pointsCount = pointsCount;
-        this.points = new FunctionPoint[pointsCount];
+        this.xValues = new double[pointsCount];
+        this.yValues = new double[pointsCount];
         
-        double step = (rightX - leftX) / (pointsCount - 1);
+        this.step = (rightX - leftX) / (pointsCount - 1);
+        this.uniform = true;
        
         for (int i = 0; i < pointsCount; i++) {
-            double x = leftX + i * step;
-            points[i] = new FunctionPoint(x, 0.0);
+            xValues[i] = leftX + i * step;
         }
+        computeSlopes();
     }
 
     public ArrayTabulatedFunction(double leftX, double rightX, double[] values) {
@@ -37,22 +56,459 @@ public class ArrayTabulatedFunction implements TabulatedFunction {
         }
 
         this.pointsCount = values.length;
-        this.points = new FunctionPoint[pointsCount]; 
+        this.xValues = new double[pointsCount];
+        this.yValues = new double[pointsCount];
         
-        double step = (rightX - leftX) / (pointsCount - 1);
+        this.step = (rightX - leftX) / (pointsCount - 1);
+        this.uniform = true;
         
         for (int i = 0; i < pointsCount; i++) {
-            double x = leftX + i * step;
-            points[i] = new FunctionPoint(x, values[i]);
+            xValues[i] = leftX + i * step;
+            yValues[i] = values[i];
         }
+        computeSlopes();
+    }
+
+    ArrayTabulatedFunction(double[] xValues, double[] yValues, int pointsCount) {
+        this.xValues = xValues;
+        this.yValues = yValues;
+        this.pointsCount = pointsCount;
+        this.uniform = false;
+        computeSlopes();
+    }
+
+    ArrayTabulatedFunction(double[] xValues, double[] yValues, double step) {
+        this.xValues = xValues;
+        this.yValues = yValues;
+        this.pointsCount = xValues.length;
+        this.step = step;
+        this.uniform = true;
+        computeSlopes();
+    }
+
+    private void computeSlopes() {
+        if (slopes == null || slopes.length != xValues.length) {
+            slopes = new double[xValues.length];
+        }
+        for (int i = 0; i < pointsCount - 1; i++) {
+            slopes[i] = (yValues[i + 1] - yValues[i]) / (xValues[i + 1] - xValues[i]);
+        }
+    }
+
+    private void updateSlopes(int index) {
+        if (index > 0 && index <= pointsCount - 1) {
+            slopes[index - 1] = (yValues[index] - yValues[index - 1]) / (xValues[index] - xValues[index - 1]);
+        }
+        if (index >= 0 && index < pointsCount - 1) {
+            slopes[index] = (yValues[index + 1] - yValues[index]) / (xValues[index + 1] - xValues[index]);
+        }
+    }
+
+    public InterpolationMode getInterpolationMode() {
+        return interpolation;
+    }
+
+    public void setInterpolationMode(InterpolationMode interpolation) {
+        if (interpolation == null) {
+            throw new IllegalArgumentException("Способ интерполяции не задан");
+        }
+
+        this.interpolation = interpolation;
+        if (interpolation == InterpolationMode.LINEAR) {
+            derivatives = null;
+            quadratic = null;
+            cubic = null;
+            splineValid = true;
+        } else {
+            computeSpline();
+        }
+        rebuildIndexes();
+    }
+
+    private double monotoneDerivative(int index) {
+        int last = pointsCount - 1;
+        if (last == 1) {
+            return slopes[0];
+        }
+        if (index == 0) {
+            return SplineCoefficients.endDerivative(xValues[1] - xValues[0], slopes[0],
+                xValues[2] - xValues[1], slopes[1]);
+        }
+        if (index == last) {
+            return SplineCoefficients.endDerivative(xValues[last] - xValues[last - 1], slopes[last - 1],
+                xValues[last - 1] - xValues[last - 2], slopes[last - 2]);
+        }
+        return SplineCoefficients.interiorDerivative(xValues[index] - xValues[index - 1], slopes[index - 1],
+            xValues[index + 1] - xValues[index], slopes[index]);
+    }
+
+    private void updateCoefficients(int segment) {
+        double h = xValues[segment + 1] - xValues[segment];
+        double d0 = derivatives[segment];
+        double d1 = derivatives[segment + 1];
+        quadratic[segment] = SplineCoefficients.quadratic(h, slopes[segment], d0, d1);
+        cubic[segment] = SplineCoefficients.cubic(h, slopes[segment], d0, d1);
+    }
+
+    private void computeSpline() {
+        if (derivatives == null || derivatives.length != xValues.length) {
+            derivatives = new double[xValues.length];
+            quadratic = new double[xValues.length];
+            cubic = new double[xValues.length];
+        }
+        if (interpolation == InterpolationMode.NATURAL_CUBIC) {
+            SplineCoefficients.naturalDerivatives(xValues, slopes, pointsCount, derivatives, quadratic);
+        } else {
+            for (int i = 0; i < pointsCount; i++) {
+                derivatives[i] = monotoneDerivative(i);
+            }
+        }
+        for (int i = 0; i < pointsCount - 1; i++) {
+            updateCoefficients(i);
+        }
+        splineValid = true;
+    }
+
+    private void updateSpline(int index) {
+        if (derivatives == null) {
+            return;
+        }
+        if (interpolation == InterpolationMode.NATURAL_CUBIC) {
+            splineValid = false;
+            return;
+        }
+
+        int from = Math.max(index - 2, 0);
+        int to = Math.min(index + 2, pointsCount - 1);
+        for (int i = from; i <= to; i++) {
+            derivatives[i] = monotoneDerivative(i);
+        }
+        for (int i = Math.max(from - 1, 0); i <= Math.min(to, pointsCount - 2); i++) {
+            updateCoefficients(i);
+        }
+    }
+
+    private void ensureSpline() {
+        if (!splineValid) {
+            computeSpline();
+            rebuildIndexes();
+        }
+    }
+
+    private double interpolate(int segment, double x) {
+        double dx = x - xValues[segment];
+        if (derivatives == null) {
+            return yValues[segment] + slopes[segment] * dx;
+        }
+        return yValues[segment] + dx * (derivatives[segment] + dx * (quadratic[segment] + dx * cubic[segment]));
+    }
+
+    private double segmentArea(int segment) {
+        double h = xValues[segment + 1] - xValues[segment];
+        if (derivatives == null) {
+            return h * (yValues[segment] + yValues[segment + 1]) * 0.5;
+        }
+        return SplineCoefficients.area(h, yValues[segment], yValues[segment + 1],
+            derivatives[segment], derivatives[segment + 1]);
+    }
+
+    private double partialArea(int segment, double dx) {
+        if (derivatives == null) {
+            return dx * (yValues[segment] + 0.5 * slopes[segment] * dx);
+        }
+        return SplineCoefficients.partialArea(yValues[segment], derivatives[segment],
+            quadratic[segment], cubic[segment], dx);
+    }
+
+    private void rebuildAreaTree() {
+        if (areaTree == null) {
+            return;
+        }
+        int segments = pointsCount - 1;
+        if (areaTree.length != segments + 1) {
+            areaTree = new double[segments + 1];
+        }
+        for (int i = 1; i <= segments; i++) {
+            areaTree[i] = segmentArea(i - 1);
+        }
+        for (int i = 1; i <= segments; i++) {
+            int parent = i + (i & -i);
+            if (parent <= segments) {
+                areaTree[parent] += areaTree[i];
+            }
+        }
+    }
+
+    private double prefixArea(int segments) {
+        double sum = 0;
+        for (int i = segments; i > 0; i -= i & -i) {
+            sum += areaTree[i];
+        }
+        return sum;
+    }
+
+    private void refreshArea(int segment) {
+        if (segment < 0 || segment >= pointsCount - 1) {
+            return;
+        }
+        double delta = segmentArea(segment) - (prefixArea(segment + 1) - prefixArea(segment));
+        for (int i = segment + 1; i < areaTree.length; i += i & -i) {
+            areaTree[i] += delta;
+        }
+    }
+
+    private void setRangeLeaf(int node, int segment) {
+        double y0 = yValues[segment];
+        double y1 = yValues[segment + 1];
+        double min = Math.min(y0, y1);
+        double max = Math.max(y0, y1);
+        boolean monotone = true;
+        if (derivatives != null) {
+            double h = xValues[segment + 1] - xValues[segment];
+            for (int k = 0; k < 2; k++) {
+                double t = SplineCoefficients.criticalPoint(derivatives[segment], quadratic[segment], cubic[segment], h, k);
+                if (!Double.isNaN(t)) {
+                    double value = SplineCoefficients.evaluate(y0, derivatives[segment], quadratic[segment], cubic[segment], t);
+                    min = Math.min(min, value);
+                    max = Math.max(max, value);
+                    monotone = false;
+                }
+            }
+        }
+        rangeMin[node] = min;
+        rangeMax[node] = max;
+        rangeOrder[node] = monotone ? (byte) ((y1 >= y0 ? RISING : 0) | (y1 <= y0 ? FALLING : 0)) : 0;
+    }
+
+    private void combineRange(int node) {
+        rangeMin[node] = Math.min(rangeMin[2 * node], rangeMin[2 * node + 1]);
+        rangeMax[node] = Math.max(rangeMax[2 * node], rangeMax[2 * node + 1]);
+        rangeOrder[node] = (byte) (rangeOrder[2 * node] & rangeOrder[2 * node + 1]);
+    }
+
+    private void rebuildRangeTree() {
+        if (rangeMin == null) {
+            return;
+        }
+        int segments = pointsCount - 1;
+        int leaves = 1;
+        while (leaves < segments) {
+            leaves <<= 1;
+        }
+        if (rangeLeaves != leaves) {
+            rangeLeaves = leaves;
+            rangeMin = new double[2 * leaves];
+            rangeMax = new double[2 * leaves];
+            rangeOrder = new byte[2 * leaves];
+        }
+        for (int i = 0; i < leaves; i++) {
+            if (i < segments) {
+                setRangeLeaf(leaves + i, i);
+            } else {
+                rangeMin[leaves + i] = Double.POSITIVE_INFINITY;
+                rangeMax[leaves + i] = Double.NEGATIVE_INFINITY;
+                rangeOrder[leaves + i] = RISING | FALLING;
+            }
+        }
+        for (int node = leaves - 1; node > 0; node--) {
+            combineRange(node);
+        }
+    }
+
+    private void refreshRange(int segment) {
+        if (segment < 0 || segment >= pointsCount - 1) {
+            return;
+        }
+        int node = rangeLeaves + segment;
+        setRangeLeaf(node, segment);
+        for (node >>>= 1; node > 0; node >>>= 1) {
+            combineRange(node);
+        }
+    }
+
+    private void rebuildIndexes() {
+        rebuildAreaTree();
+        rebuildRangeTree();
+    }
+
+    private void updateIndexes(int index) {
+        if ((areaTree != null || rangeMin != null) && splineValid) {
+            int reach = derivatives == null ? 1 : 3;
+            for (int segment = index - reach; segment < index + reach; segment++) {
+                if (areaTree != null) {
+                    refreshArea(segment);
+                }
+                if (rangeMin != null) {
+                    refreshRange(segment);
+                }
+            }
+        }
+    }
+
+    public boolean isInverseIndexed() {
+        return rangeMin != null;
+    }
+
+    public void setInverseIndexed(boolean indexed) {
+        if (indexed && rangeMin == null) {
+            rangeMin = new double[0];
+            rangeLeaves = 0;
+            rebuildRangeTree();
+        } else if (!indexed) {
+            rangeMin = null;
+            rangeMax = null;
+            rangeOrder = null;
+            rangeLeaves = 0;
+        }
+    }
+
+    public double[] findCrossings(double y) {
+        Crossings crossings = new Crossings(Integer.MAX_VALUE);
+        collectCrossings(y, crossings);
+        return crossings.toArray();
+    }
+
+    public double inverse(double y) {
+        Crossings crossings = new Crossings(1);
+        collectCrossings(y, crossings);
+        return crossings.first();
+    }
+
+    private void collectCrossings(double y, Crossings crossings) {
+        ensureSpline();
+        if (rangeMin == null) {
+            for (int i = 0; i < pointsCount - 1 && !crossings.isFull(); i++) {
+                addSegmentCrossings(i, y, crossings);
+            }
+            return;
+        }
+
+        int order = rangeOrder[1];
+        if (order == 0) {
+            collectCrossings(1, y, crossings);
+            return;
+        }
+
+        boolean rising = (order & RISING) != 0;
+        int low = 0;
+        int high = pointsCount;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (rising ? yValues[middle] >= y : yValues[middle] <= y) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+        for (int i = Math.max(low - 1, 0); i < pointsCount - 1 && !crossings.isFull(); i++) {
+            if (!(y >= rangeMin[rangeLeaves + i] && y <= rangeMax[rangeLeaves + i])) {
+                break;
+            }
+            addSegmentCrossings(i, y, crossings);
+        }
+    }
+
+    private void collectCrossings(int node, double y, Crossings crossings) {
+        if (crossings.isFull() || !(y >= rangeMin[node] && y <= rangeMax[node])) {
+            return;
+        }
+        if (node >= rangeLeaves) {
+            addSegmentCrossings(node - rangeLeaves, y, crossings);
+            return;
+        }
+        collectCrossings(2 * node, y, crossings);
+        collectCrossings(2 * node + 1, y, crossings);
+    }
+
+    private void addSegmentCrossings(int segment, double y, Crossings crossings) {
+        double x0 = xValues[segment];
+        double h = xValues[segment + 1] - x0;
+        boolean last = segment == pointsCount - 2;
+        if (derivatives == null) {
+            crossings.addLinear(x0, h, yValues[segment], yValues[segment + 1], last, y);
+        } else {
+            crossings.addCubic(x0, h, yValues[segment], yValues[segment + 1], derivatives[segment],
+                quadratic[segment], cubic[segment], last, y);
+        }
+    }
+
+    public boolean isIntegralIndexed() {
+        return areaTree != null;
+    }
+
+    public void setIntegralIndexed(boolean indexed) {
+        if (indexed && areaTree == null) {
+            areaTree = new double[pointsCount];
+            rebuildAreaTree();
+        } else if (!indexed) {
+            areaTree = null;
+        }
+    }
+
+    public double integrate(double a, double b) {
+        if (a > b) {
+            return -integrate(b, a);
+        }
+        if (!(a >= xValues[0] && b <= xValues[pointsCount - 1])) {
+            return Double.NaN;
+        }
+        ensureSpline();
+
+        int i = findSegmentIndex(a);
+        int j = findSegmentIndex(b);
+        if (i == j) {
+            return partialArea(j, b - xValues[j]) - partialArea(i, a - xValues[i]);
+        }
+
+        double result = segmentArea(i) - partialArea(i, a - xValues[i]) + partialArea(j, b - xValues[j]);
+        if (areaTree != null) {
+            result += prefixArea(j) - prefixArea(i + 1);
+        } else {
+            for (int k = i + 1; k < j; k++) {
+                result += segmentArea(k);
+            }
+        }
+        return result;
     }
 
     public double getLeftDomainBorder() {
-        return points[0].getX();
+        return xValues[0];
     }
 
     public double getRightDomainBorder() {
-        return points[pointsCount - 1].getX();
+        return xValues[pointsCount - 1];
+    }
+
+    private int findSegmentIndex(double x) {
+        if (uniform) {
+            int index = (int) ((x - xValues[0]) / step);
+            if (index > pointsCount - 2) {
+                index = pointsCount - 2;
+            }
+            if (index > 0 && x < xValues[index]) {
+                index--;
+            } else if (index < pointsCount - 2 && x > xValues[index + 1]) {
+                index++;
+            }
+            if (statistics != null) {
+                statistics.record(0, true);
+            }
+            return index;
+        }
+
+        return Segments.find(xValues, pointsCount, x, statistics);
+    }
+
+    public SearchStatistics getSearchStatistics() {
+        return statistics;
+    }
+
+    public void setSearchStatisticsEnabled(boolean enabled) {
+        if (enabled && statistics == null) {
+            statistics = new SearchStatistics();
+        } else if (!enabled) {
+            statistics = null;
+        }
     }
 
     public double getFunctionValue(double x) {
@@ -60,18 +516,75 @@ public class ArrayTabulatedFunction implements TabulatedFunction {
             return Double.NaN;
         }
 
-        for (int i = 0; i < pointsCount - 1; i++) {
-            double x1 = points[i].getX();
-            double x2 = points[i + 1].getX();
-            
-            if (x >= x1 && x <= x2) {
-                double y1 = points[i].getY();
-                double y2 = points[i + 1].getY();
-                
-                return y1 + (y2 - y1) * (x - x1) / (x2 - x1);
+        ensureSpline();
+        int i = findSegmentIndex(x);
+        return interpolate(i, x);
+    }
+
+    public void getFunctionValues(double[] xs, double[] out) {
+        getFunctionValues(xs, 0, out, 0, xs.length);
+    }
+
+    public void getFunctionValues(double[] xs, int xsOffset, double[] out, int outOffset, int length) {
+        if (xsOffset < 0 || outOffset < 0 || length < 0 ||
+            xsOffset + length > xs.length || outOffset + length > out.length) {
+            throw new IllegalArgumentException("Диапазон выходит за границы массива");
+        }
+
+        double leftX = xValues[0];
+        double rightX = xValues[pointsCount - 1];
+        ensureSpline();
+        int i = 0;
+        double previousX = leftX;
+
+        for (int k = 0; k < length; k++) {
+            double x = xs[xsOffset + k];
+            if (!(x >= leftX && x <= rightX)) {
+                out[outOffset + k] = Double.NaN;
+                continue;
             }
-        }  
-        return 0;
+
+            int next = x < previousX ? -1 : Segments.walk(xValues, pointsCount, i, x);
+            i = next >= 0 ? next : findSegmentIndex(x);
+            previousX = x;
+
+            out[outOffset + k] = interpolate(i, x);
+        }
+    }
+
+    private class ArrayCursor implements FunctionPointCursor {
+        private int index = -1;
+
+        public boolean next() {
+            if (index + 1 >= pointsCount) {
+                return false;
+            }
+            index++;
+            return true;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public double getX() {
+            return xValues[index];
+        }
+
+        public double getY() {
+            return yValues[index];
+        }
+
+        public void setY(double y) {
+            yValues[index] = y;
+            updateSlopes(index);
+            updateSpline(index);
+            updateIndexes(index);
+        }
+    }
+
+    public FunctionPointCursor cursor() {
+        return new ArrayCursor();
     }
 
     public int getPointsCount() {
@@ -79,150 +592,271 @@ public class ArrayTabulatedFunction implements TabulatedFunction {
     }
  
     public FunctionPoint getPoint(int index) {
+        checkIndex(index);
+        return new FunctionPoint(xValues[index], yValues[index]);
+    }
+
+    private void checkIndex(int index) {
         if (index < 0 || index >= pointsCount) {
-            throw new FunctionPointIndexOutOfBoundsException(
-                "Индекс " + index + " вне границ [0, " + (pointsCount - 1) + "]"
-            );
+            throw new FunctionPointIndexOutOfBoundsException(index, pointsCount);
         }
-        return new FunctionPoint(points[index]);
     }
 
     public void setPoint(int index, FunctionPoint point) throws InappropriateFunctionPointException {
-        if (index < 0 || index >= pointsCount) {
-            throw new FunctionPointIndexOutOfBoundsException(
-                "Индекс " + index + " вне границ [0, " + (pointsCount - 1) + "]"
-            );
+        if (!trySetPoint(index, point)) {
+            throw Segments.outOfOrder(xValues, pointsCount, index, point.getX());
         }
-        
+    }
+
+    public boolean trySetPoint(int index, FunctionPoint point) {
+        checkIndex(index);
         double newX = point.getX();
-        
-        if (index == 0) {
-            if (newX >= points[1].getX() && !doubleEquals(newX, points[1].getX())) {
-                throw new InappropriateFunctionPointException(
-                    "Новая координата x=" + newX + " должна быть меньше " + points[1].getX()
-                );
-            }
-        }
-        else if (index == pointsCount - 1) {
-            if (newX <= points[pointsCount - 2].getX() && !doubleEquals(newX, points[pointsCount - 2].getX())) {
-                throw new InappropriateFunctionPointException(
-                    "Новая координата x=" + newX + " должна быть больше " + points[pointsCount - 2].getX()
-                );
-            }
-        }
-        else {
-            if ((newX <= points[index - 1].getX() && !doubleEquals(newX, points[index - 1].getX())) || 
-                (newX >= points[index + 1].getX() && !doubleEquals(newX, points[index + 1].getX()))) {
-                throw new InappropriateFunctionPointException(
-                    "Новая координата x=" + newX + " должна быть в интервале (" + 
-                    points[index - 1].getX() + ", " + points[index + 1].getX() + ")"
-                );
-            }
+        if (!Segments.fitsAt(xValues, pointsCount, index, newX, false)) {
+            return false;
         }
         
-        points[index] = new FunctionPoint(point);
+        xValues[index] = newX;
+        yValues[index] = point.getY();
+        updateSlopes(index);
+        updateSpline(index);
+        updateIndexes(index);
+        uniform = false;
+        return true;
     }
 
     public double getPointX(int index) {
-        if (index < 0 || index >= pointsCount) {
-            throw new FunctionPointIndexOutOfBoundsException(
-                "Индекс " + index + " вне границ [0, " + (pointsCount - 1) + "]"
-            );
-        }
-        return points[index].getX();
+        checkIndex(index);
+        return xValues[index];
     }
     
     public double getPointY(int index) {
-        if (index < 0 || index >= pointsCount) {
-            throw new FunctionPointIndexOutOfBoundsException(
-                "Индекс " + index + " вне границ [0, " + (pointsCount - 1) + "]"
-            );
-        }
-        return points[index].getY();
+        checkIndex(index);
+        return yValues[index];
     }
     
     public void setPointX(int index, double x) throws InappropriateFunctionPointException {
-        if (index < 0 || index >= pointsCount) {
-            throw new FunctionPointIndexOutOfBoundsException(
-                "Индекс " + index + " вне границ [0, " + (pointsCount - 1) + "]"
-            );
+        checkIndex(index);
+        if (!Segments.fitsAt(xValues, pointsCount, index, x, true)) {
+            throw Segments.outOfOrder(xValues, pointsCount, index, x);
         }
         
-        if (index == 0) {
-            if (x >= points[1].getX()) {
-                throw new InappropriateFunctionPointException(
-                    "Новая координата x=" + x + " должна быть меньше " + points[1].getX()
-                );
+        xValues[index] = x;
+        updateSlopes(index);
+        updateSpline(index);
+        updateIndexes(index);
+        uniform = false;
+    }
+
+    public void setPointY(int index, double y) {
+        checkIndex(index);
+        
+        yValues[index] = y;
+        updateSlopes(index);
+        updateSpline(index);
+        updateIndexes(index);
+    }
+
+    public void deletePoint(int index) {
+        checkIndex(index);
+        
+        if (pointsCount < 3) {
+            throw new IllegalStateException("Невозможно удалить точку: количество точек не может быть меньше двух");
+        }
+        
+        System.arraycopy(xValues, index + 1, xValues, index, pointsCount - index - 1);
+        System.arraycopy(yValues, index + 1, yValues, index, pointsCount - index - 1);
+        if (index < pointsCount - 2) {
+            System.arraycopy(slopes, index + 1, slopes, index, pointsCount - index - 2);
+        }
+        if (derivatives != null) {
+            System.arraycopy(derivatives, index + 1, derivatives, index, pointsCount - index - 1);
+            if (index < pointsCount - 2) {
+                System.arraycopy(quadratic, index + 1, quadratic, index, pointsCount - index - 2);
+                System.arraycopy(cubic, index + 1, cubic, index, pointsCount - index - 2);
             }
         }
-        else if (index == pointsCount - 1) {
-            if (x <= points[pointsCount - 2].getX()) {
-                throw new InappropriateFunctionPointException(
-                    "Новая координата x=" + x + " должна быть больше " + points[pointsCount - 2].getX()
-                );
+        pointsCount--;
+        updateSlopes(index - 1);
+        updateSpline(index - 1);
+        rebuildIndexes();
+        uniform = false;
+    }
+
+    private int insertionIndex(double x) {
+        int low = 0;
+        int high = pointsCount;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (x > xValues[middle]) {
+                low = middle + 1;
+            } else {
+                high = middle;
             }
         }
-        else {
-            if (x <= points[index - 1].getX() || x >= points[index + 1].getX()) {
-                throw new InappropriateFunctionPointException(
-                    "Новая координата x=" + x + " должна быть в интервале (" + 
-                    points[index - 1].getX() + ", " + points[index + 1].getX() + ")"
-                );
+        return low;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > xValues.length) {
+            capacity = Math.max(capacity, xValues.length + xValues.length / 2 + 1);
+            double[] newXValues = new double[capacity];
+            double[] newYValues = new double[capacity];
+            System.arraycopy(xValues, 0, newXValues, 0, pointsCount);
+            System.arraycopy(yValues, 0, newYValues, 0, pointsCount);
+            double[] newSlopes = new double[capacity];
+            System.arraycopy(slopes, 0, newSlopes, 0, Math.max(pointsCount - 1, 0));
+            xValues = newXValues;
+            yValues = newYValues;
+            slopes = newSlopes;
+            if (derivatives != null) {
+                double[] newDerivatives = new double[capacity];
+                double[] newQuadratic = new double[capacity];
+                double[] newCubic = new double[capacity];
+                System.arraycopy(derivatives, 0, newDerivatives, 0, pointsCount);
+                System.arraycopy(quadratic, 0, newQuadratic, 0, Math.max(pointsCount - 1, 0));
+                System.arraycopy(cubic, 0, newCubic, 0, Math.max(pointsCount - 1, 0));
+                derivatives = newDerivatives;
+                quadratic = newQuadratic;
+                cubic = newCubic;
             }
         }
-        
-        points[index].setX(x);
     }
 
-    public void setPointY(int index, double y) {
-        if (index < 0 || index >= pointsCount) {
-            throw new FunctionPointIndexOutOfBoundsException(
-                "Индекс " + index + " вне границ [0, " + (pointsCount - 1) + "]"
-            );
+    public void addPoint(FunctionPoint point) throws InappropriateFunctionPointException {
+        if (!tryAddPoint(point)) {
+            throw InappropriateFunctionPointException.duplicate(point.getX());
         }
-        
-        points[index].setY(y);
     }
 
-    public void deletePoint(int index) {
-        if (index < 0 || index >= pointsCount) {
-            throw new FunctionPointIndexOutOfBoundsException(
-                "Индекс " + index + " вне границ [0, " + (pointsCount - 1) + "]"
-            );
+    public boolean tryAddPoint(FunctionPoint point) {
+        double x = point.getX();
+        int insertIndex = insertionIndex(x);
+
+        if ((insertIndex > 0 && doubleEquals(x, xValues[insertIndex - 1])) ||
+            (insertIndex < pointsCount && doubleEquals(x, xValues[insertIndex]))) {
+            return false;
         }
         
-        if (pointsCount < 3) {
-            throw new IllegalStateException("Невозможно удалить точку: количество точек не может быть меньше двух");
+        ensureCapacity(pointsCount + 1);
+
+        System.arraycopy(xValues, insertIndex, xValues, insertIndex + 1, pointsCount - insertIndex);
+        System.arraycopy(yValues, insertIndex, yValues, insertIndex + 1, pointsCount - insertIndex);
+        if (insertIndex < pointsCount - 1) {
+            System.arraycopy(slopes, insertIndex, slopes, insertIndex + 1, pointsCount - 1 - insertIndex);
+        }
+        if (derivatives != null) {
+            System.arraycopy(derivatives, insertIndex, derivatives, insertIndex + 1, pointsCount - insertIndex);
+            if (insertIndex < pointsCount - 1) {
+                System.arraycopy(quadratic, insertIndex, quadratic, insertIndex + 1, pointsCount - 1 - insertIndex);
+                System.arraycopy(cubic, insertIndex, cubic, insertIndex + 1, pointsCount - 1 - insertIndex);
+            }
         }
         
-        System.arraycopy(points, index + 1, points, index, pointsCount - index - 1);
-        pointsCount--;
+        xValues[insertIndex] = x;
+        yValues[insertIndex] = point.getY();
+        pointsCount++;
+        updateSlopes(insertIndex);
+        updateSpline(insertIndex);
+        rebuildIndexes();
+        uniform = false;
+        return true;
     }
 
-    public void addPoint(FunctionPoint point) throws InappropriateFunctionPointException {
-        for (int i = 0; i < pointsCount; i++) {
-            if (doubleEquals(point.getX(), points[i].getX())) {
+    public void addPoints(FunctionPoint[] points) throws InappropriateFunctionPointException {
+        double[] xs = new double[points.length];
+        double[] ys = new double[points.length];
+        for (int i = 0; i < points.length; i++) {
+            xs[i] = points[i].getX();
+            ys[i] = points[i].getY();
+        }
+        mergePoints(xs, ys);
+    }
+
+    public void addPoints(double[] xs, double[] ys) throws InappropriateFunctionPointException {
+        if (xs.length != ys.length) {
+            throw new IllegalArgumentException("Массивы координат должны иметь одинаковую длину");
+        }
+        mergePoints(xs.clone(), ys.clone());
+    }
+
+    private void mergePoints(double[] xs, double[] ys) throws InappropriateFunctionPointException {
+        int count = xs.length;
+        if (count == 0) {
+            return;
+        }
+
+        for (int j = 0; j < count; j++) {
+            if (Double.isNaN(xs[j])) {
                 throw new InappropriateFunctionPointException(
-                    "Точка с x=" + point.getX() + " уже существует"
+                    "Новая точка нарушает упорядоченность функции"
                 );
             }
         }
-        
-        if (pointsCount == points.length) {
-            FunctionPoint[] newPoints = new FunctionPoint[points.length + points.length / 2 + 1];
-            System.arraycopy(points, 0, newPoints, 0, pointsCount);
-            points = newPoints;
+        for (int j = 1; j < count; j++) {
+            if (xs[j] < xs[j - 1]) {
+                sortByX(xs, ys, 0, count, new double[count], new double[count]);
+                break;
+            }
         }
 
-        int insertIndex = 0;
-        while (insertIndex < pointsCount && point.getX() > points[insertIndex].getX()) {
-            insertIndex++;
+        double lastX = Double.NaN;
+        for (int i = 0, j = 0; i < pointsCount || j < count; ) {
+            double x = (j == count || (i < pointsCount && xValues[i] < xs[j])) ? xValues[i++] : xs[j++];
+            if (doubleEquals(x, lastX)) {
+                throw new InappropriateFunctionPointException(
+                    "Точка с x=" + x + " уже существует"
+                );
+            }
+            lastX = x;
         }
 
-        System.arraycopy(points, insertIndex, points, insertIndex + 1, pointsCount - insertIndex);
-        
-        points[insertIndex] = new FunctionPoint(point);
-        pointsCount++;
+        ensureCapacity(pointsCount + count);
+
+        int i = pointsCount - 1;
+        int j = count - 1;
+        for (int k = pointsCount + count - 1; j >= 0; k--) {
+            if (i >= 0 && xValues[i] > xs[j]) {
+                xValues[k] = xValues[i];
+                yValues[k] = yValues[i];
+                i--;
+            } else {
+                xValues[k] = xs[j];
+                yValues[k] = ys[j];
+                j--;
+            }
+        }
+        pointsCount += count;
+        computeSlopes();
+        if (derivatives != null) {
+            computeSpline();
+        }
+        rebuildIndexes();
+        uniform = false;
+    }
+
+    private static void sortByX(double[] xs, double[] ys, int from, int to, double[] bufferX, double[] bufferY) {
+        if (to - from < 2) {
+            return;
+        }
+
+        int middle = (from + to) >>> 1;
+        sortByX(xs, ys, from, middle, bufferX, bufferY);
+        sortByX(xs, ys, middle, to, bufferX, bufferY);
+        if (xs[middle - 1] <= xs[middle]) {
+            return;
+        }
+
+        System.arraycopy(xs, from, bufferX, from, to - from);
+        System.arraycopy(ys, from, bufferY, from, to - from);
+        for (int k = from, i = from, j = middle; k < to; k++) {
+            if (j == to || (i < middle && bufferX[i] <= bufferX[j])) {
+                xs[k] = bufferX[i];
+                ys[k] = bufferY[i++];
+            } else {
+                xs[k] = bufferX[j];
+                ys[k] = bufferY[j++];
+            }
+        }
     }
     
     public String toString() {
@@ -232,7 +866,7 @@ public class ArrayTabulatedFunction implements TabulatedFunction {
         sb.append(", points=[");
         for (int i = 0; i < pointsCount; i++) {
             if (i > 0) sb.append(", ");
-            sb.append(points[i]);
+            sb.append('(').append(xValues[i]).append(", ").append(yValues[i]).append(')');
         }
         sb.append("]}");
         return sb.toString();
@@ -0,0 +1,342 @@
+package functions;
+
+import java.util.Arrays;
+
+public class ConcurrentTabulatedFunction implements TabulatedFunction {
+    private static final double EPSILON = 1e-10;
+
+    private static final class Snapshot {
+        private final double[] xValues;
+        private final double[] yValues;
+
+        Snapshot(double[] xValues, double[] yValues) {
+            this.xValues = xValues;
+            this.yValues = yValues;
+        }
+    }
+
+    private volatile Snapshot snapshot;
+    private final Object writeLock = new Object();
+    private final ThreadLocal<int[]> lastSegment = ThreadLocal.withInitial(() -> new int[1]);
+
+    private boolean doubleEquals(double a, double b) {
+        return Math.abs(a - b) < EPSILON;
+    }
+
+    public ConcurrentTabulatedFunction(double leftX, double rightX, int pointsCount) {
+        this(leftX, rightX, new double[Math.max(pointsCount, 0)]);
+    }
+
+    public ConcurrentTabulatedFunction(double leftX, double rightX, double[] values) {
+        if (leftX >= rightX) {
+            throw new IllegalArgumentException("Левая граница области определения не может быть больше или равна правой");
+        }
+        if (values.length < 2) {
+            throw new IllegalArgumentException("Количество точек не может быть меньше двух");
+        }
+
+        double[] xValues = new double[values.length];
+        double step = (rightX - leftX) / (values.length - 1);
+        for (int i = 0; i < values.length; i++) {
+            xValues[i] = leftX + i * step;
+        }
+        this.snapshot = new Snapshot(xValues, values.clone());
+    }
+
+    public ConcurrentTabulatedFunction(TabulatedFunction function) {
+        int count = function.getPointsCount();
+        if (count < 2) {
+            throw new IllegalArgumentException("Количество точек не может быть меньше двух");
+        }
+        double[] xValues = new double[count];
+        double[] yValues = new double[count];
+        FunctionPointCursor cursor = function.cursor();
+        for (int i = 0; i < count && cursor.next(); i++) {
+            xValues[i] = cursor.getX();
+            yValues[i] = cursor.getY();
+        }
+        this.snapshot = new Snapshot(xValues, yValues);
+    }
+
+    private static void checkIndex(int index, int count) {
+        if (index < 0 || index >= count) {
+            throw new FunctionPointIndexOutOfBoundsException(index, count);
+        }
+    }
+
+    public double getLeftDomainBorder() {
+        return snapshot.xValues[0];
+    }
+
+    public double getRightDomainBorder() {
+        double[] xValues = snapshot.xValues;
+        return xValues[xValues.length - 1];
+    }
+
+    public double getFunctionValue(double x) {
+        Snapshot current = snapshot;
+        double[] xValues = current.xValues;
+        double[] yValues = current.yValues;
+        int last = xValues.length - 1;
+        if (!(x >= xValues[0] && x <= xValues[last])) {
+            return Double.NaN;
+        }
+
+        int[] finger = lastSegment.get();
+        int i = finger[0];
+        if (i >= last || x < xValues[i]) {
+            i = Segments.find(xValues, xValues.length, x);
+        } else if (x > xValues[i + 1]) {
+            i = (i + 2 <= last && x <= xValues[i + 2]) ? i + 1 : Segments.find(xValues, xValues.length, x);
+        }
+        finger[0] = i;
+
+        double x1 = xValues[i];
+        double y1 = yValues[i];
+        return y1 + (yValues[i + 1] - y1) * (x - x1) / (xValues[i + 1] - x1);
+    }
+
+    public void getFunctionValues(double[] xs, double[] out) {
+        getFunctionValues(xs, 0, out, 0, xs.length);
+    }
+
+    public void getFunctionValues(double[] xs, int xsOffset, double[] out, int outOffset, int length) {
+        if (xsOffset < 0 || outOffset < 0 || length < 0 ||
+            xsOffset + length > xs.length || outOffset + length > out.length) {
+            throw new IllegalArgumentException("Диапазон выходит за границы массива");
+        }
+
+        Snapshot current = snapshot;
+        double[] xValues = current.xValues;
+        double[] yValues = current.yValues;
+        int last = xValues.length - 1;
+        int i = 0;
+        double previousX = xValues[0];
+
+        for (int k = 0; k < length; k++) {
+            double x = xs[xsOffset + k];
+            if (!(x >= xValues[0] && x <= xValues[last])) {
+                out[outOffset + k] = Double.NaN;
+                continue;
+            }
+
+            i = Segments.locate(xValues, last + 1, i, previousX, x);
+            previousX = x;
+
+            double x1 = xValues[i];
+            double y1 = yValues[i];
+            out[outOffset + k] = y1 + (yValues[i + 1] - y1) * (x - x1) / (xValues[i + 1] - x1);
+        }
+    }
+
+    public int getPointsCount() {
+        return snapshot.xValues.length;
+    }
+
+    public FunctionPoint getPoint(int index) {
+        Snapshot current = snapshot;
+        checkIndex(index, current.xValues.length);
+        return new FunctionPoint(current.xValues[index], current.yValues[index]);
+    }
+
+    private class SnapshotCursor implements FunctionPointCursor {
+        private Snapshot current = snapshot;
+        private double[] pending;
+        private int index = -1;
+
+        public boolean next() {
+            if (index + 1 >= current.xValues.length) {
+                commit();
+                return false;
+            }
+            index++;
+            return true;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public double getX() {
+            return current.xValues[index];
+        }
+
+        public double getY() {
+            return pending != null ? pending[index] : current.yValues[index];
+        }
+
+        public void setY(double y) {
+            if (pending == null) {
+                pending = current.yValues.clone();
+            }
+            pending[index] = y;
+        }
+
+        public void commit() {
+            if (pending == null) {
+                return;
+            }
+            synchronized (writeLock) {
+                Snapshot latest = snapshot;
+                if (latest == current) {
+                    snapshot = new Snapshot(current.xValues, pending);
+                    current = snapshot;
+                } else {
+                    double[] yValues = latest.yValues.clone();
+                    for (int i = 0; i < pending.length; i++) {
+                        if (Double.doubleToRawLongBits(pending[i]) != Double.doubleToRawLongBits(current.yValues[i])) {
+                            double x = current.xValues[i];
+                            int target = Arrays.binarySearch(latest.xValues, x);
+                            if (target < 0) {
+                                throw new IllegalStateException("Точка с x=" + x + " больше не существует в таблице");
+                            }
+                            yValues[target] = pending[i];
+                        }
+                    }
+                    snapshot = new Snapshot(latest.xValues, yValues);
+                    current = new Snapshot(current.xValues, pending);
+                }
+                pending = null;
+            }
+        }
+    }
+
+    public FunctionPointCursor cursor() {
+        return new SnapshotCursor();
+    }
+
+    public void setPoint(int index, FunctionPoint point) throws InappropriateFunctionPointException {
+        synchronized (writeLock) {
+            if (!trySetPoint(index, point)) {
+                throw Segments.outOfOrder(snapshot.xValues, snapshot.xValues.length, index, point.getX());
+            }
+        }
+    }
+
+    public boolean trySetPoint(int index, FunctionPoint point) {
+        synchronized (writeLock) {
+            Snapshot current = snapshot;
+            checkIndex(index, current.xValues.length);
+            if (!Segments.fitsAt(current.xValues, current.xValues.length, index, point.getX(), false)) {
+                return false;
+            }
+
+            double[] xValues = current.xValues.clone();
+            double[] yValues = current.yValues.clone();
+            xValues[index] = point.getX();
+            yValues[index] = point.getY();
+            snapshot = new Snapshot(xValues, yValues);
+            return true;
+        }
+    }
+
+    public double getPointX(int index) {
+        double[] xValues = snapshot.xValues;
+        checkIndex(index, xValues.length);
+        return xValues[index];
+    }
+
+    public double getPointY(int index) {
+        double[] yValues = snapshot.yValues;
+        checkIndex(index, yValues.length);
+        return yValues[index];
+    }
+
+    public void setPointX(int index, double x) throws InappropriateFunctionPointException {
+        synchronized (writeLock) {
+            Snapshot current = snapshot;
+            checkIndex(index, current.xValues.length);
+            if (!Segments.fitsAt(current.xValues, current.xValues.length, index, x, true)) {
+                throw Segments.outOfOrder(current.xValues, current.xValues.length, index, x);
+            }
+
+            double[] xValues = current.xValues.clone();
+            xValues[index] = x;
+            snapshot = new Snapshot(xValues, current.yValues);
+        }
+    }
+
+    public void setPointY(int index, double y) {
+        synchronized (writeLock) {
+            Snapshot current = snapshot;
+            checkIndex(index, current.yValues.length);
+
+            double[] yValues = current.yValues.clone();
+            yValues[index] = y;
+            snapshot = new Snapshot(current.xValues, yValues);
+        }
+    }
+
+    public void deletePoint(int index) {
+        synchronized (writeLock) {
+            Snapshot current = snapshot;
+            int count = current.xValues.length;
+            checkIndex(index, count);
+            if (count < 3) {
+                throw new IllegalStateException("Невозможно удалить точку: количество точек не может быть меньше двух");
+            }
+
+            double[] xValues = new double[count - 1];
+            double[] yValues = new double[count - 1];
+            System.arraycopy(current.xValues, 0, xValues, 0, index);
+            System.arraycopy(current.yValues, 0, yValues, 0, index);
+            System.arraycopy(current.xValues, index + 1, xValues, index, count - index - 1);
+            System.arraycopy(current.yValues, index + 1, yValues, index, count - index - 1);
+            snapshot = new Snapshot(xValues, yValues);
+        }
+    }
+
+    public void addPoint(FunctionPoint point) throws InappropriateFunctionPointException {
+        if (!tryAddPoint(point)) {
+            throw InappropriateFunctionPointException.duplicate(point.getX());
+        }
+    }
+
+    public boolean tryAddPoint(FunctionPoint point) {
+        double x = point.getX();
+        synchronized (writeLock) {
+            Snapshot current = snapshot;
+            int count = current.xValues.length;
+
+            int insertIndex = 0;
+            int high = count;
+            while (insertIndex < high) {
+                int middle = (insertIndex + high) >>> 1;
+                if (x > current.xValues[middle]) {
+                    insertIndex = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            if ((insertIndex > 0 && doubleEquals(x, current.xValues[insertIndex - 1])) ||
+                (insertIndex < count && doubleEquals(x, current.xValues[insertIndex]))) {
+                return false;
+            }
+
+            double[] xValues = new double[count + 1];
+            double[] yValues = new double[count + 1];
+            System.arraycopy(current.xValues, 0, xValues, 0, insertIndex);
+            System.arraycopy(current.yValues, 0, yValues, 0, insertIndex);
+            xValues[insertIndex] = x;
+            yValues[insertIndex] = point.getY();
+            System.arraycopy(current.xValues, insertIndex, xValues, insertIndex + 1, count - insertIndex);
+            System.arraycopy(current.yValues, insertIndex, yValues, insertIndex + 1, count - insertIndex);
+            snapshot = new Snapshot(xValues, yValues);
+            return true;
+        }
+    }
+
+    public String toString() {
+        Snapshot current = snapshot;
+        StringBuilder sb = new StringBuilder();
+        sb.append("ConcurrentTabulatedFunction{");
+        sb.append("pointsCount=").append(current.xValues.length);
+        sb.append(", points=[");
+        for (int i = 0; i < current.xValues.length; i++) {
+            if (i > 0) sb.append(", ");
+            sb.append('(').append(current.xValues[i]).append(", ").append(current.yValues[i]).append(')');
+        }
+        sb.append("]}");
+        return sb.toString();
+    }
+}
\ No newline at end of file
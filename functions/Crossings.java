@@ -0,0 +1,94 @@
+package functions;
+
+import java.util.Arrays;
+
+final class Crossings {
+    private final int limit;
+    private double[] values = new double[4];
+    private int count;
+
+    Crossings(int limit) {
+        this.limit = limit;
+    }
+
+    boolean isFull() {
+        return count >= limit;
+    }
+
+    double first() {
+        return count > 0 ? values[0] : Double.NaN;
+    }
+
+    double[] toArray() {
+        return Arrays.copyOf(values, count);
+    }
+
+    private void add(double x) {
+        if (count > 0 && x <= values[count - 1]) {
+            return;
+        }
+        if (count == values.length) {
+            values = Arrays.copyOf(values, values.length * 2);
+        }
+        values[count++] = x;
+    }
+
+    void addLinear(double x0, double h, double y0, double y1, boolean last, double y) {
+        if (y0 == y1) {
+            if (y0 == y) {
+                add(x0);
+            }
+            return;
+        }
+        double t = (y - y0) / (y1 - y0);
+        if (t >= 0 && (t < 1 || (last && t == 1))) {
+            add(t == 1 ? x0 + h : x0 + t * h);
+        }
+    }
+
+    void addCubic(double x0, double h, double y0, double y1, double d, double quadratic, double cubic,
+                  boolean last, double y) {
+        double first = SplineCoefficients.criticalPoint(d, quadratic, cubic, h, 0);
+        double second = SplineCoefficients.criticalPoint(d, quadratic, cubic, h, 1);
+
+        double from = 0;
+        double fromValue = y0 - y;
+        for (int piece = 0; piece < 3; piece++) {
+            double to = piece == 0 ? first : piece == 1 ? second : h;
+            if (Double.isNaN(to)) {
+                continue;
+            }
+            double toValue = to == h ? y1 - y : SplineCoefficients.evaluate(y0, d, quadratic, cubic, to) - y;
+            if (fromValue == 0) {
+                add(x0 + from);
+            } else if (toValue != 0 && (fromValue < 0) != (toValue < 0)) {
+                add(x0 + bisect(y0, d, quadratic, cubic, from, to, fromValue, y));
+            }
+            from = to;
+            fromValue = toValue;
+        }
+        if (last && fromValue == 0) {
+            add(x0 + h);
+        }
+    }
+
+    private static double bisect(double y0, double d, double quadratic, double cubic,
+                                 double low, double high, double lowValue, double y) {
+        while (true) {
+            double middle = 0.5 * (low + high);
+            if (middle <= low || middle >= high) {
+                return low;
+            }
+            double value = SplineCoefficients.evaluate(y0, d, quadratic, cubic, middle) - y;
+            if (value == 0) {
+                return middle;
+            }
+            if ((value < 0) == (lowValue < 0)) {
+                low = middle;
+                lowValue = value;
+            } else {
+                high = middle;
+            }
+        }
+    }
+}
\ No newline at end of file
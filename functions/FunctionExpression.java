@@ -0,0 +1,373 @@
+package functions;
+
+import java.util.Arrays;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleUnaryOperator;
+
+public abstract class FunctionExpression {
+    private static final int CHUNK_SIZE = 512;
+
+    private FunctionExpression() {
+    }
+
+    public static FunctionExpression of(TabulatedFunction function) {
+        return new Tabulated(function);
+    }
+
+    public static FunctionExpression constant(double value) {
+        return new Constant(value);
+    }
+
+    public FunctionExpression scale(double factor) {
+        return new Affine(this, factor, 0.0);
+    }
+
+    public FunctionExpression shift(double offset) {
+        return new Affine(this, 1.0, offset);
+    }
+
+    public FunctionExpression clamp(double min, double max) {
+        if (min > max) {
+            throw new IllegalArgumentException("Нижняя граница не может быть больше верхней");
+        }
+        return new Clamp(this, min, max);
+    }
+
+    public FunctionExpression map(DoubleUnaryOperator operator) {
+        return new Mapped(this, operator);
+    }
+
+    public FunctionExpression plus(FunctionExpression other) {
+        return new Binary(this, other, Binary.PLUS, null);
+    }
+
+    public FunctionExpression plus(TabulatedFunction other) {
+        return plus(of(other));
+    }
+
+    public FunctionExpression minus(FunctionExpression other) {
+        return new Binary(this, other, Binary.MINUS, null);
+    }
+
+    public FunctionExpression minus(TabulatedFunction other) {
+        return minus(of(other));
+    }
+
+    public FunctionExpression times(FunctionExpression other) {
+        return new Binary(this, other, Binary.TIMES, null);
+    }
+
+    public FunctionExpression times(TabulatedFunction other) {
+        return times(of(other));
+    }
+
+    public FunctionExpression divide(FunctionExpression other) {
+        return new Binary(this, other, Binary.DIVIDE, null);
+    }
+
+    public FunctionExpression divide(TabulatedFunction other) {
+        return divide(of(other));
+    }
+
+    public FunctionExpression combine(FunctionExpression other, DoubleBinaryOperator operator) {
+        return new Binary(this, other, Binary.CUSTOM, operator);
+    }
+
+    public abstract double getLeftDomainBorder();
+
+    public abstract double getRightDomainBorder();
+
+    public abstract double evaluate(double x);
+
+    abstract int bufferDepth();
+
+    abstract void evaluate(double[] xs, int xsOffset, double[] out, int outOffset, int length,
+                           double[][] buffers, int depth);
+
+    public void evaluate(double[] xs, double[] out) {
+        evaluate(xs, 0, out, 0, xs.length);
+    }
+
+    public void evaluate(double[] xs, int xsOffset, double[] out, int outOffset, int length) {
+        if (xsOffset < 0 || outOffset < 0 || length < 0 ||
+            length > xs.length - xsOffset || length > out.length - outOffset) {
+            throw new IllegalArgumentException("Диапазон выходит за границы массива");
+        }
+        if (xs == out && xsOffset < outOffset + length && outOffset < xsOffset + length) {
+            xs = Arrays.copyOfRange(xs, xsOffset, xsOffset + length);
+            xsOffset = 0;
+        }
+
+        double[][] buffers = new double[bufferDepth()][Math.min(length, CHUNK_SIZE)];
+        for (int done = 0; done < length; done += CHUNK_SIZE) {
+            int chunk = Math.min(CHUNK_SIZE, length - done);
+            evaluate(xs, xsOffset + done, out, outOffset + done, chunk, buffers, 0);
+        }
+    }
+
+    public ArrayTabulatedFunction materialize(int pointsCount) {
+        double leftX = getLeftDomainBorder();
+        double rightX = getRightDomainBorder();
+        if (!(leftX < rightX) || Double.isInfinite(leftX) || Double.isInfinite(rightX)) {
+            throw new IllegalStateException("Выражение не имеет конечной области определения");
+        }
+        if (pointsCount < 2) {
+            throw new IllegalArgumentException("Количество точек не может быть меньше двух");
+        }
+
+        double[] xValues = new double[pointsCount];
+        double[] yValues = new double[pointsCount];
+        double step = (rightX - leftX) / (pointsCount - 1);
+        for (int i = 0; i < pointsCount; i++) {
+            xValues[i] = leftX + i * step;
+        }
+        evaluate(xValues, yValues);
+        return new ArrayTabulatedFunction(xValues, yValues, step);
+    }
+
+    public ArrayTabulatedFunction materialize(double[] grid) {
+        if (grid.length < 2) {
+            throw new IllegalArgumentException("Количество точек не может быть меньше двух");
+        }
+        for (int i = 1; i < grid.length; i++) {
+            if (!(grid[i] > grid[i - 1])) {
+                throw new IllegalArgumentException("Точки сетки должны строго возрастать");
+            }
+        }
+        if (!(grid[0] >= getLeftDomainBorder() && grid[grid.length - 1] <= getRightDomainBorder())) {
+            throw new IllegalArgumentException("Сетка выходит за область определения выражения");
+        }
+
+        double[] xValues = grid.clone();
+        double[] yValues = new double[grid.length];
+        evaluate(xValues, yValues);
+        return new ArrayTabulatedFunction(xValues, yValues, xValues.length);
+    }
+
+    private static final class Tabulated extends FunctionExpression {
+        private final TabulatedFunction function;
+
+        Tabulated(TabulatedFunction function) {
+            this.function = function;
+        }
+
+        public double getLeftDomainBorder() {
+            return function.getLeftDomainBorder();
+        }
+
+        public double getRightDomainBorder() {
+            return function.getRightDomainBorder();
+        }
+
+        public double evaluate(double x) {
+            return function.getFunctionValue(x);
+        }
+
+        int bufferDepth() {
+            return 0;
+        }
+
+        void evaluate(double[] xs, int xsOffset, double[] out, int outOffset, int length,
+                      double[][] buffers, int depth) {
+            function.getFunctionValues(xs, xsOffset, out, outOffset, length);
+        }
+    }
+
+    private static final class Constant extends FunctionExpression {
+        private final double value;
+
+        Constant(double value) {
+            this.value = value;
+        }
+
+        public double getLeftDomainBorder() {
+            return Double.NEGATIVE_INFINITY;
+        }
+
+        public double getRightDomainBorder() {
+            return Double.POSITIVE_INFINITY;
+        }
+
+        public double evaluate(double x) {
+            return value;
+        }
+
+        int bufferDepth() {
+            return 0;
+        }
+
+        void evaluate(double[] xs, int xsOffset, double[] out, int outOffset, int length,
+                      double[][] buffers, int depth) {
+            for (int k = 0; k < length; k++) {
+                out[outOffset + k] = value;
+            }
+        }
+    }
+
+    private abstract static class Unary extends FunctionExpression {
+        final FunctionExpression source;
+
+        Unary(FunctionExpression source) {
+            this.source = source;
+        }
+
+        public double getLeftDomainBorder() {
+            return source.getLeftDomainBorder();
+        }
+
+        public double getRightDomainBorder() {
+            return source.getRightDomainBorder();
+        }
+
+        public double evaluate(double x) {
+            return apply(source.evaluate(x));
+        }
+
+        abstract double apply(double y);
+
+        int bufferDepth() {
+            return source.bufferDepth();
+        }
+
+        void evaluate(double[] xs, int xsOffset, double[] out, int outOffset, int length,
+                      double[][] buffers, int depth) {
+            source.evaluate(xs, xsOffset, out, outOffset, length, buffers, depth);
+            for (int k = outOffset; k < outOffset + length; k++) {
+                out[k] = apply(out[k]);
+            }
+        }
+    }
+
+    private static final class Affine extends Unary {
+        private final double factor;
+        private final double offset;
+
+        Affine(FunctionExpression source, double factor, double offset) {
+            super(source instanceof Affine ? ((Affine) source).source : source);
+            if (source instanceof Affine) {
+                Affine inner = (Affine) source;
+                this.factor = inner.factor * factor;
+                this.offset = inner.offset * factor + offset;
+            } else {
+                this.factor = factor;
+                this.offset = offset;
+            }
+        }
+
+        double apply(double y) {
+            return y * factor + offset;
+        }
+    }
+
+    private static final class Clamp extends Unary {
+        private final double min;
+        private final double max;
+
+        Clamp(FunctionExpression source, double min, double max) {
+            super(source);
+            this.min = min;
+            this.max = max;
+        }
+
+        double apply(double y) {
+            return y < min ? min : (y > max ? max : y);
+        }
+    }
+
+    private static final class Mapped extends Unary {
+        private final DoubleUnaryOperator operator;
+
+        Mapped(FunctionExpression source, DoubleUnaryOperator operator) {
+            super(source);
+            this.operator = operator;
+        }
+
+        double apply(double y) {
+            return operator.applyAsDouble(y);
+        }
+    }
+
+    private static final class Binary extends FunctionExpression {
+        static final int PLUS = 0;
+        static final int MINUS = 1;
+        static final int TIMES = 2;
+        static final int DIVIDE = 3;
+        static final int CUSTOM = 4;
+
+        private final FunctionExpression left;
+        private final FunctionExpression right;
+        private final int operation;
+        private final DoubleBinaryOperator operator;
+
+        Binary(FunctionExpression left, FunctionExpression right, int operation, DoubleBinaryOperator operator) {
+            this.left = left;
+            this.right = right;
+            this.operation = operation;
+            this.operator = operator;
+        }
+
+        public double getLeftDomainBorder() {
+            return Math.max(left.getLeftDomainBorder(), right.getLeftDomainBorder());
+        }
+
+        public double getRightDomainBorder() {
+            return Math.min(left.getRightDomainBorder(), right.getRightDomainBorder());
+        }
+
+        private double apply(double a, double b) {
+            switch (operation) {
+                case PLUS:
+                    return a + b;
+                case MINUS:
+                    return a - b;
+                case TIMES:
+                    return a * b;
+                case DIVIDE:
+                    return a / b;
+                default:
+                    return operator.applyAsDouble(a, b);
+            }
+        }
+
+        public double evaluate(double x) {
+            return apply(left.evaluate(x), right.evaluate(x));
+        }
+
+        int bufferDepth() {
+            return 1 + Math.max(left.bufferDepth(), right.bufferDepth());
+        }
+
+        void evaluate(double[] xs, int xsOffset, double[] out, int outOffset, int length,
+                      double[][] buffers, int depth) {
+            double[] buffer = buffers[depth];
+            left.evaluate(xs, xsOffset, out, outOffset, length, buffers, depth + 1);
+            right.evaluate(xs, xsOffset, buffer, 0, length, buffers, depth + 1);
+            switch (operation) {
+                case PLUS:
+                    for (int k = 0; k < length; k++) {
+                        out[outOffset + k] += buffer[k];
+                    }
+                    break;
+                case MINUS:
+                    for (int k = 0; k < length; k++) {
+                        out[outOffset + k] -= buffer[k];
+                    }
+                    break;
+                case TIMES:
+                    for (int k = 0; k < length; k++) {
+                        out[outOffset + k] *= buffer[k];
+                    }
+                    break;
+                case DIVIDE:
+                    for (int k = 0; k < length; k++) {
+                        out[outOffset + k] /= buffer[k];
+                    }
+                    break;
+                default:
+                    for (int k = 0; k < length; k++) {
+                        out[outOffset + k] = operator.applyAsDouble(out[outOffset + k], buffer[k]);
+                    }
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,17 @@
+package functions;
+
+public interface FunctionPointCursor {
+    
+    boolean next();
+    
+    int getIndex();
+    
+    double getX();
+    
+    double getY();
+    
+    void setY(double y);
+    
+    default void commit() {
+    }
+}
\ No newline at end of file
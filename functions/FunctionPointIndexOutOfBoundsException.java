@@ -1,16 +1,51 @@
 package functions;
 
 public class FunctionPointIndexOutOfBoundsException extends IndexOutOfBoundsException {
+    private static final long serialVersionUID = 1L;
+
+    private final int index;
+    private final int size;
+    private String message;
+
     public FunctionPointIndexOutOfBoundsException() {
         super();
+        this.index = -1;
+        this.size = -1;
     }
 
     public FunctionPointIndexOutOfBoundsException(String message) {
         super(message);
+        this.index = -1;
+        this.size = -1;
+        this.message = message;
     }
 
     public FunctionPointIndexOutOfBoundsException(String message, Throwable cause) {
         super(message);
         this.initCause(cause);
+        this.index = -1;
+        this.size = -1;
+        this.message = message;
+    }
+
+    public FunctionPointIndexOutOfBoundsException(int index, int size) {
+        super();
+        this.index = index;
+        this.size = size;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public String getMessage() {
+        if (message == null && size >= 0) {
+            message = "Индекс " + index + " вне границ [0, " + (size - 1) + "]";
+        }
+        return message;
+    }
+
+    public synchronized Throwable fillInStackTrace() {
+        return InappropriateFunctionPointException.STACK_TRACES ? super.fillInStackTrace() : this;
     }
 }
\ No newline at end of file
@@ -0,0 +1,195 @@
+package functions;
+
+public final class ImmutableTabulatedFunction implements TabulatedFunction {
+    private final double[] xValues;
+    private final double[] yValues;
+    private final double[] slopes;
+
+    public ImmutableTabulatedFunction(TabulatedFunction function) {
+        int count = function.getPointsCount();
+        if (count < 2) {
+            throw new IllegalArgumentException("Количество точек не может быть меньше двух");
+        }
+        double[] xs = new double[count];
+        double[] ys = new double[count];
+        FunctionPointCursor cursor = function.cursor();
+        for (int i = 0; i < count && cursor.next(); i++) {
+            xs[i] = cursor.getX();
+            ys[i] = cursor.getY();
+        }
+        this.xValues = xs;
+        this.yValues = ys;
+        this.slopes = computeSlopes(xs, ys);
+    }
+
+    public ImmutableTabulatedFunction(double leftX, double rightX, double[] values) {
+        if (leftX >= rightX) {
+            throw new IllegalArgumentException("Левая граница области определения не может быть больше или равна правой");
+        }
+        if (values.length < 2) {
+            throw new IllegalArgumentException("Количество точек не может быть меньше двух");
+        }
+
+        double[] xs = new double[values.length];
+        double step = (rightX - leftX) / (values.length - 1);
+        for (int i = 0; i < values.length; i++) {
+            xs[i] = leftX + i * step;
+        }
+        this.xValues = xs;
+        this.yValues = values.clone();
+        this.slopes = computeSlopes(xs, yValues);
+    }
+
+    private static double[] computeSlopes(double[] xs, double[] ys) {
+        double[] result = new double[Math.max(xs.length - 1, 0)];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = (ys[i + 1] - ys[i]) / (xs[i + 1] - xs[i]);
+        }
+        return result;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= xValues.length) {
+            throw new FunctionPointIndexOutOfBoundsException(index, xValues.length);
+        }
+    }
+
+    public double getLeftDomainBorder() {
+        return xValues[0];
+    }
+
+    public double getRightDomainBorder() {
+        return xValues[xValues.length - 1];
+    }
+
+    public double getFunctionValue(double x) {
+        if (!(x >= xValues[0] && x <= xValues[xValues.length - 1])) {
+            return Double.NaN;
+        }
+
+        int i = Segments.find(xValues, xValues.length, x);
+        return yValues[i] + slopes[i] * (x - xValues[i]);
+    }
+
+    public void getFunctionValues(double[] xs, double[] out) {
+        getFunctionValues(xs, 0, out, 0, xs.length);
+    }
+
+    public void getFunctionValues(double[] xs, int xsOffset, double[] out, int outOffset, int length) {
+        if (xsOffset < 0 || outOffset < 0 || length < 0 ||
+            xsOffset + length > xs.length || outOffset + length > out.length) {
+            throw new IllegalArgumentException("Диапазон выходит за границы массива");
+        }
+
+        int last = xValues.length - 1;
+        double leftX = xValues[0];
+        double rightX = xValues[last];
+        int i = 0;
+        double previousX = leftX;
+
+        for (int k = 0; k < length; k++) {
+            double x = xs[xsOffset + k];
+            if (!(x >= leftX && x <= rightX)) {
+                out[outOffset + k] = Double.NaN;
+                continue;
+            }
+
+            i = Segments.locate(xValues, last + 1, i, previousX, x);
+            previousX = x;
+
+            out[outOffset + k] = yValues[i] + slopes[i] * (x - xValues[i]);
+        }
+    }
+
+    public int getPointsCount() {
+        return xValues.length;
+    }
+
+    public FunctionPoint getPoint(int index) {
+        checkIndex(index);
+        return new FunctionPoint(xValues[index], yValues[index]);
+    }
+
+    private class ImmutableCursor implements FunctionPointCursor {
+        private int index = -1;
+
+        public boolean next() {
+            if (index + 1 >= xValues.length) {
+                return false;
+            }
+            index++;
+            return true;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public double getX() {
+            return xValues[index];
+        }
+
+        public double getY() {
+            return yValues[index];
+        }
+
+        public void setY(double y) {
+            throw new UnsupportedOperationException("Неизменяемая функция не поддерживает изменение точек");
+        }
+    }
+
+    public FunctionPointCursor cursor() {
+        return new ImmutableCursor();
+    }
+
+    public void setPoint(int index, FunctionPoint point) throws InappropriateFunctionPointException {
+        throw new UnsupportedOperationException("Неизменяемая функция не поддерживает изменение точек");
+    }
+
+    public boolean trySetPoint(int index, FunctionPoint point) {
+        throw new UnsupportedOperationException("Неизменяемая функция не поддерживает изменение точек");
+    }
+
+    public double getPointX(int index) {
+        checkIndex(index);
+        return xValues[index];
+    }
+
+    public void setPointX(int index, double x) throws InappropriateFunctionPointException {
+        throw new UnsupportedOperationException("Неизменяемая функция не поддерживает изменение точек");
+    }
+
+    public double getPointY(int index) {
+        checkIndex(index);
+        return yValues[index];
+    }
+
+    public void setPointY(int index, double y) {
+        throw new UnsupportedOperationException("Неизменяемая функция не поддерживает изменение точек");
+    }
+
+    public void deletePoint(int index) {
+        throw new UnsupportedOperationException("Неизменяемая функция не поддерживает изменение точек");
+    }
+
+    public void addPoint(FunctionPoint point) throws InappropriateFunctionPointException {
+        throw new UnsupportedOperationException("Неизменяемая функция не поддерживает изменение точек");
+    }
+
+    public boolean tryAddPoint(FunctionPoint point) {
+        throw new UnsupportedOperationException("Неизменяемая функция не поддерживает изменение точек");
+    }
+
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("ImmutableTabulatedFunction{");
+        sb.append("pointsCount=").append(xValues.length);
+        sb.append(", points=[");
+        for (int i = 0; i < xValues.length; i++) {
+            if (i > 0) sb.append(", ");
+            sb.append('(').append(xValues[i]).append(", ").append(yValues[i]).append(')');
+        }
+        sb.append("]}");
+        return sb.toString();
+    }
+}
\ No newline at end of file
@@ -1,6 +1,17 @@
 package functions;
 
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.util.function.Supplier;
+
 public class InappropriateFunctionPointException extends Exception {
+    private static final long serialVersionUID = 1L;
+
+    static final boolean STACK_TRACES =
+        Boolean.parseBoolean(System.getProperty("functions.exceptions.stackTrace", "true"));
+
+    private transient Supplier<String> messageSupplier;
+    private String message;
 
     public InappropriateFunctionPointException() {
         super();
@@ -8,13 +19,54 @@ public class InappropriateFunctionPointException extends Exception {
 
     public InappropriateFunctionPointException(String message) {
         super(message);
+        this.message = message;
+    }
+
+    public InappropriateFunctionPointException(Supplier<String> messageSupplier) {
+        super();
+        this.messageSupplier = messageSupplier;
     }
 
     public InappropriateFunctionPointException(String message, Throwable cause) {
         super(message, cause);
+        this.message = message;
     }
 
     public InappropriateFunctionPointException(Throwable cause) {
         super(cause);
+        this.message = super.getMessage();
+    }
+
+    public String getMessage() {
+        if (message == null && messageSupplier != null) {
+            message = messageSupplier.get();
+            messageSupplier = null;
+        }
+        return message;
+    }
+
+    static InappropriateFunctionPointException duplicate(double x) {
+        return new InappropriateFunctionPointException(() -> "Точка с x=" + x + " уже существует");
+    }
+
+    static InappropriateFunctionPointException outOfOrder(double x, double previousX, double nextX) {
+        return new InappropriateFunctionPointException(() -> {
+            if (previousX == Double.NEGATIVE_INFINITY) {
+                return "Новая координата x=" + x + " должна быть меньше " + nextX;
+            }
+            if (nextX == Double.POSITIVE_INFINITY) {
+                return "Новая координата x=" + x + " должна быть больше " + previousX;
+            }
+            return "Новая координата x=" + x + " должна быть в интервале (" + previousX + ", " + nextX + ")";
+        });
+    }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        getMessage();
+        out.defaultWriteObject();
+    }
+
+    public synchronized Throwable fillInStackTrace() {
+        return STACK_TRACES ? super.fillInStackTrace() : this;
     }
 }
\ No newline at end of file
@@ -0,0 +1,34 @@
+package functions;
+
+final class IndexedCursor implements FunctionPointCursor {
+    private final TabulatedFunction function;
+    private int index = -1;
+
+    IndexedCursor(TabulatedFunction function) {
+        this.function = function;
+    }
+
+    public boolean next() {
+        if (index + 1 >= function.getPointsCount()) {
+            return false;
+        }
+        index++;
+        return true;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public double getX() {
+        return function.getPointX(index);
+    }
+
+    public double getY() {
+        return function.getPointY(index);
+    }
+
+    public void setY(double y) {
+        function.setPointY(index, y);
+    }
+}
\ No newline at end of file
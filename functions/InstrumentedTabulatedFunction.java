@@ -0,0 +1,300 @@
+package functions;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+public class InstrumentedTabulatedFunction implements TabulatedFunction, InstrumentedTabulatedFunctionMBean, AutoCloseable {
+    private static final int LATENCY_SAMPLE_MASK = 15;
+    private static final int LATENCY_BUCKETS = 64;
+
+    private final TabulatedFunction function;
+    private final SearchStatistics statistics;
+    private boolean ownsStatistics;
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder outOfDomain = new LongAdder();
+    private final LongAdder mutations = new LongAdder();
+    private final LongAdder rejectedMutations = new LongAdder();
+    private final LongAdder[] latency = new LongAdder[LATENCY_BUCKETS];
+
+    public InstrumentedTabulatedFunction(TabulatedFunction function) {
+        this.function = function;
+        for (int i = 0; i < LATENCY_BUCKETS; i++) {
+            latency[i] = new LongAdder();
+        }
+
+        if (function instanceof ArrayTabulatedFunction) {
+            ArrayTabulatedFunction array = (ArrayTabulatedFunction) function;
+            ownsStatistics = array.getSearchStatistics() == null;
+            array.setSearchStatisticsEnabled(true);
+            statistics = array.getSearchStatistics();
+        } else if (function instanceof LinkedListTabulatedFunction) {
+            LinkedListTabulatedFunction list = (LinkedListTabulatedFunction) function;
+            ownsStatistics = list.getSearchStatistics() == null;
+            list.setSearchStatisticsEnabled(true);
+            statistics = list.getSearchStatistics();
+        } else {
+            statistics = null;
+        }
+    }
+
+    public TabulatedFunction getFunction() {
+        return function;
+    }
+
+    public void close() {
+        if (!ownsStatistics) {
+            return;
+        }
+        if (function instanceof ArrayTabulatedFunction) {
+            ((ArrayTabulatedFunction) function).setSearchStatisticsEnabled(false);
+        } else if (function instanceof LinkedListTabulatedFunction) {
+            ((LinkedListTabulatedFunction) function).setSearchStatisticsEnabled(false);
+        }
+        ownsStatistics = false;
+    }
+
+    public ObjectName registerMBean(String name) throws JMException {
+        ObjectName objectName = new ObjectName("functions:type=TabulatedFunction,name=" + ObjectName.quote(name));
+        ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+        return objectName;
+    }
+
+    public void unregisterMBean(ObjectName objectName) throws JMException {
+        ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+    }
+
+    private void recordLatency(long nanos) {
+        latency[LATENCY_BUCKETS - Long.numberOfLeadingZeros(Math.max(nanos, 0))].increment();
+    }
+
+    private static boolean sampled() {
+        return (ThreadLocalRandom.current().nextInt() & LATENCY_SAMPLE_MASK) == 0;
+    }
+
+    public TabulatedFunctionMetrics snapshot() {
+        long[] histogram = new long[LATENCY_BUCKETS];
+        for (int i = 0; i < LATENCY_BUCKETS; i++) {
+            histogram[i] = latency[i].sum();
+        }
+        return new TabulatedFunctionMetrics(
+            lookups.sum(), outOfDomain.sum(), mutations.sum(), rejectedMutations.sum(),
+            statistics == null ? 0 : statistics.getSearchCount(),
+            statistics == null ? 0 : statistics.getStepCount(),
+            statistics == null ? 0 : statistics.getCacheHitCount(),
+            histogram
+        );
+    }
+
+    public long getLookupCount() {
+        return lookups.sum();
+    }
+
+    public long getOutOfDomainCount() {
+        return outOfDomain.sum();
+    }
+
+    public double getOutOfDomainRate() {
+        return snapshot().getOutOfDomainRate();
+    }
+
+    public long getMutationCount() {
+        return mutations.sum();
+    }
+
+    public long getRejectedMutationCount() {
+        return rejectedMutations.sum();
+    }
+
+    public long getSearchCount() {
+        return statistics == null ? 0 : statistics.getSearchCount();
+    }
+
+    public double getAverageSearchLength() {
+        return statistics == null ? 0.0 : statistics.getAverageSearchLength();
+    }
+
+    public double getCacheHitRate() {
+        return statistics == null ? 0.0 : statistics.getCacheHitRate();
+    }
+
+    public long getLatencyP50Nanos() {
+        return snapshot().getLatencyPercentileNanos(50);
+    }
+
+    public long getLatencyP99Nanos() {
+        return snapshot().getLatencyPercentileNanos(99);
+    }
+
+    public void reset() {
+        lookups.reset();
+        outOfDomain.reset();
+        mutations.reset();
+        rejectedMutations.reset();
+        for (LongAdder bucket : latency) {
+            bucket.reset();
+        }
+        if (statistics != null) {
+            statistics.reset();
+        }
+    }
+
+    public double getLeftDomainBorder() {
+        return function.getLeftDomainBorder();
+    }
+
+    public double getRightDomainBorder() {
+        return function.getRightDomainBorder();
+    }
+
+    public double getFunctionValue(double x) {
+        lookups.increment();
+        double y;
+        if (sampled()) {
+            long start = System.nanoTime();
+            y = function.getFunctionValue(x);
+            recordLatency(System.nanoTime() - start);
+        } else {
+            y = function.getFunctionValue(x);
+        }
+        if (Double.isNaN(y) && !(x >= function.getLeftDomainBorder() && x <= function.getRightDomainBorder())) {
+            outOfDomain.increment();
+        }
+        return y;
+    }
+
+    public void getFunctionValues(double[] xs, double[] out) {
+        getFunctionValues(xs, 0, out, 0, xs.length);
+    }
+
+    public void getFunctionValues(double[] xs, int xsOffset, double[] out, int outOffset, int length) {
+        function.getFunctionValues(xs, xsOffset, out, outOffset, length);
+        lookups.add(length);
+
+        double leftX = function.getLeftDomainBorder();
+        double rightX = function.getRightDomainBorder();
+        int missed = 0;
+        for (int k = 0; k < length; k++) {
+            double x = xs[xsOffset + k];
+            if (!(x >= leftX && x <= rightX)) {
+                missed++;
+            }
+        }
+        if (missed > 0) {
+            outOfDomain.add(missed);
+        }
+    }
+
+    public int getPointsCount() {
+        return function.getPointsCount();
+    }
+
+    public FunctionPoint getPoint(int index) {
+        return function.getPoint(index);
+    }
+
+    private class InstrumentedCursor implements FunctionPointCursor {
+        private final FunctionPointCursor cursor = function.cursor();
+
+        public boolean next() {
+            return cursor.next();
+        }
+
+        public int getIndex() {
+            return cursor.getIndex();
+        }
+
+        public double getX() {
+            return cursor.getX();
+        }
+
+        public double getY() {
+            return cursor.getY();
+        }
+
+        public void setY(double y) {
+            cursor.setY(y);
+            mutations.increment();
+        }
+
+        public void commit() {
+            cursor.commit();
+        }
+    }
+
+    public FunctionPointCursor cursor() {
+        return new InstrumentedCursor();
+    }
+
+    public void setPoint(int index, FunctionPoint point) throws InappropriateFunctionPointException {
+        try {
+            function.setPoint(index, point);
+        } catch (InappropriateFunctionPointException e) {
+            rejectedMutations.increment();
+            throw e;
+        }
+        mutations.increment();
+    }
+
+    public boolean trySetPoint(int index, FunctionPoint point) {
+        if (!function.trySetPoint(index, point)) {
+            rejectedMutations.increment();
+            return false;
+        }
+        mutations.increment();
+        return true;
+    }
+
+    public double getPointX(int index) {
+        return function.getPointX(index);
+    }
+
+    public void setPointX(int index, double x) throws InappropriateFunctionPointException {
+        try {
+            function.setPointX(index, x);
+        } catch (InappropriateFunctionPointException e) {
+            rejectedMutations.increment();
+            throw e;
+        }
+        mutations.increment();
+    }
+
+    public double getPointY(int index) {
+        return function.getPointY(index);
+    }
+
+    public void setPointY(int index, double y) {
+        function.setPointY(index, y);
+        mutations.increment();
+    }
+
+    public void deletePoint(int index) {
+        function.deletePoint(index);
+        mutations.increment();
+    }
+
+    public void addPoint(FunctionPoint point) throws InappropriateFunctionPointException {
+        try {
+            function.addPoint(point);
+        } catch (InappropriateFunctionPointException e) {
+            rejectedMutations.increment();
+            throw e;
+        }
+        mutations.increment();
+    }
+
+    public boolean tryAddPoint(FunctionPoint point) {
+        if (!function.tryAddPoint(point)) {
+            rejectedMutations.increment();
+            return false;
+        }
+        mutations.increment();
+        return true;
+    }
+
+    public String toString() {
+        return "InstrumentedTabulatedFunction{" + snapshot() + ", function=" + function + "}";
+    }
+}
\ No newline at end of file
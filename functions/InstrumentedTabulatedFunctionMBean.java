@@ -0,0 +1,25 @@
+package functions;
+
+public interface InstrumentedTabulatedFunctionMBean {
+    long getLookupCount();
+
+    long getOutOfDomainCount();
+
+    double getOutOfDomainRate();
+
+    long getMutationCount();
+
+    long getRejectedMutationCount();
+
+    long getSearchCount();
+
+    double getAverageSearchLength();
+
+    double getCacheHitRate();
+
+    long getLatencyP50Nanos();
+
+    long getLatencyP99Nanos();
+
+    void reset();
+}
\ No newline at end of file
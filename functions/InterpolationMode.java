@@ -0,0 +1,7 @@
+package functions;
+
+public enum InterpolationMode {
+    LINEAR,
+    NATURAL_CUBIC,
+    MONOTONE
+}
\ No newline at end of file
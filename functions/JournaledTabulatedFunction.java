@@ -0,0 +1,277 @@
+package functions;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+public class JournaledTabulatedFunction implements TabulatedFunction {
+    static final int MAGIC = 0x4A424154;
+    static final int HEADER_SIZE = 16;
+    static final int RECORD_SIZE = 21;
+    static final int MAX_JOURNAL_SIZE = Integer.MAX_VALUE / RECORD_SIZE * RECORD_SIZE;
+
+    private static final byte SET_POINT = 1;
+    private static final byte SET_X = 2;
+    private static final byte SET_Y = 3;
+    private static final byte ADD = 4;
+    private static final byte DELETE = 5;
+
+    private final TabulatedFunction function;
+    private ByteBuffer journal;
+    private long baseVersion;
+    private long version;
+
+    public JournaledTabulatedFunction(TabulatedFunction function) {
+        if (function instanceof ConcurrentTabulatedFunction) {
+            throw new IllegalArgumentException("Журнал не поддерживает ConcurrentTabulatedFunction: " +
+                "индексы параллельных изменений не согласованы с записями журнала");
+        }
+        this.function = function;
+        this.journal = ByteBuffer.allocate(RECORD_SIZE * 64).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    public TabulatedFunction getFunction() {
+        return function;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public long getOldestVersion() {
+        return baseVersion;
+    }
+
+    private void record(byte operation, int index, double x, double y) {
+        if (journal.remaining() < RECORD_SIZE) {
+            int capacity = journal.capacity();
+            if (capacity > MAX_JOURNAL_SIZE - RECORD_SIZE) {
+                throw new IllegalStateException("Журнал переполнен: удалите старые записи методом discardChangesBefore");
+            }
+            int grownCapacity = capacity <= MAX_JOURNAL_SIZE / 2 ? Math.addExact(capacity, capacity) : MAX_JOURNAL_SIZE;
+            ByteBuffer grown = ByteBuffer.allocate(grownCapacity).order(ByteOrder.LITTLE_ENDIAN);
+            journal.flip();
+            grown.put(journal);
+            journal = grown;
+        }
+        journal.put(operation);
+        journal.putInt(index);
+        journal.putDouble(x);
+        journal.putDouble(y);
+        version++;
+    }
+
+    public void discardChangesBefore(long version) {
+        if (version < baseVersion || version > this.version) {
+            throw new IllegalArgumentException("Версия " + version + " вне границ [" + baseVersion + ", " + this.version + "]");
+        }
+        int discarded = (int) ((version - baseVersion) * RECORD_SIZE);
+        journal.flip();
+        journal.position(discarded);
+        journal.compact();
+        baseVersion = version;
+    }
+
+    public void writeChanges(long sinceVersion, WritableByteChannel channel) throws IOException {
+        if (sinceVersion < baseVersion || sinceVersion > version) {
+            throw new IllegalArgumentException("Версия " + sinceVersion + " вне границ [" + baseVersion + ", " + version + "]");
+        }
+
+        long count = version - sinceVersion;
+        if (count > MAX_JOURNAL_SIZE / RECORD_SIZE) {
+            throw new IllegalStateException("Слишком много записей в журнале: " + count);
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC);
+        header.putLong(sinceVersion);
+        header.putInt((int) count);
+        header.flip();
+        while (header.hasRemaining()) {
+            channel.write(header);
+        }
+
+        ByteBuffer records = journal.duplicate();
+        records.flip();
+        records.position((int) ((sinceVersion - baseVersion) * RECORD_SIZE));
+        while (records.hasRemaining()) {
+            channel.write(records);
+        }
+    }
+
+    private static void readFully(ReadableByteChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new IOException("Некорректный формат журнала: неожиданный конец потока");
+            }
+        }
+        buffer.flip();
+    }
+
+    public int apply(ReadableByteChannel channel) throws IOException, InappropriateFunctionPointException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        readFully(channel, header);
+        if (header.getInt() != MAGIC) {
+            throw new IOException("Некорректный формат журнала: неизвестная сигнатура");
+        }
+        long sinceVersion = header.getLong();
+        int count = header.getInt();
+        if (sinceVersion != version) {
+            throw new IOException("Журнал начинается с версии " + sinceVersion + ", а текущая версия " + version);
+        }
+        if (count < 0 || count > MAX_JOURNAL_SIZE / RECORD_SIZE) {
+            throw new IOException("Некорректный формат журнала: количество записей " + count);
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(RECORD_SIZE * 256).order(ByteOrder.LITTLE_ENDIAN);
+        int applied = 0;
+        while (applied < count) {
+            buffer.clear();
+            buffer.limit(RECORD_SIZE * Math.min(256, count - applied));
+            readFully(channel, buffer);
+            while (buffer.hasRemaining()) {
+                byte operation = buffer.get();
+                int index = buffer.getInt();
+                double x = buffer.getDouble();
+                double y = buffer.getDouble();
+                switch (operation) {
+                    case SET_POINT:
+                        setPoint(index, new FunctionPoint(x, y));
+                        break;
+                    case SET_X:
+                        setPointX(index, x);
+                        break;
+                    case SET_Y:
+                        setPointY(index, y);
+                        break;
+                    case ADD:
+                        addPoint(new FunctionPoint(x, y));
+                        break;
+                    case DELETE:
+                        deletePoint(index);
+                        break;
+                    default:
+                        throw new IOException("Некорректный формат журнала: неизвестная операция " + operation);
+                }
+                applied++;
+            }
+        }
+        return applied;
+    }
+
+    public double getLeftDomainBorder() {
+        return function.getLeftDomainBorder();
+    }
+
+    public double getRightDomainBorder() {
+        return function.getRightDomainBorder();
+    }
+
+    public double getFunctionValue(double x) {
+        return function.getFunctionValue(x);
+    }
+
+    public void getFunctionValues(double[] xs, double[] out) {
+        function.getFunctionValues(xs, out);
+    }
+
+    public void getFunctionValues(double[] xs, int xsOffset, double[] out, int outOffset, int length) {
+        function.getFunctionValues(xs, xsOffset, out, outOffset, length);
+    }
+
+    public int getPointsCount() {
+        return function.getPointsCount();
+    }
+
+    public FunctionPoint getPoint(int index) {
+        return function.getPoint(index);
+    }
+
+    private class JournaledCursor implements FunctionPointCursor {
+        private final FunctionPointCursor cursor = function.cursor();
+
+        public boolean next() {
+            return cursor.next();
+        }
+
+        public int getIndex() {
+            return cursor.getIndex();
+        }
+
+        public double getX() {
+            return cursor.getX();
+        }
+
+        public double getY() {
+            return cursor.getY();
+        }
+
+        public void setY(double y) {
+            cursor.setY(y);
+            record(SET_Y, cursor.getIndex(), 0.0, y);
+        }
+
+        public void commit() {
+            cursor.commit();
+        }
+    }
+
+    public FunctionPointCursor cursor() {
+        return new JournaledCursor();
+    }
+
+    public void setPoint(int index, FunctionPoint point) throws InappropriateFunctionPointException {
+        function.setPoint(index, point);
+        record(SET_POINT, index, point.getX(), point.getY());
+    }
+
+    public boolean trySetPoint(int index, FunctionPoint point) {
+        if (!function.trySetPoint(index, point)) {
+            return false;
+        }
+        record(SET_POINT, index, point.getX(), point.getY());
+        return true;
+    }
+
+    public double getPointX(int index) {
+        return function.getPointX(index);
+    }
+
+    public void setPointX(int index, double x) throws InappropriateFunctionPointException {
+        function.setPointX(index, x);
+        record(SET_X, index, x, 0.0);
+    }
+
+    public double getPointY(int index) {
+        return function.getPointY(index);
+    }
+
+    public void setPointY(int index, double y) {
+        function.setPointY(index, y);
+        record(SET_Y, index, 0.0, y);
+    }
+
+    public void deletePoint(int index) {
+        function.deletePoint(index);
+        record(DELETE, index, 0.0, 0.0);
+    }
+
+    public void addPoint(FunctionPoint point) throws InappropriateFunctionPointException {
+        function.addPoint(point);
+        record(ADD, -1, point.getX(), point.getY());
+    }
+
+    public boolean tryAddPoint(FunctionPoint point) {
+        if (!function.tryAddPoint(point)) {
+            return false;
+        }
+        record(ADD, -1, point.getX(), point.getY());
+        return true;
+    }
+
+    public String toString() {
+        return "JournaledTabulatedFunction{version=" + version + ", function=" + function + "}";
+    }
+}
\ No newline at end of file
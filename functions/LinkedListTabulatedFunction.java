@@ -1,5 +1,7 @@
 package functions;
 
+import java.util.Random;
+
 public class LinkedListTabulatedFunction implements TabulatedFunction {
     
     private FunctionNode head;
@@ -9,7 +11,14 @@ public class LinkedListTabulatedFunction implements TabulatedFunction {
     private FunctionNode lastAccessedNode;
     private int lastAccessedIndex;
     
+    private SkipListIndex skipList;
+    private SearchStatistics statistics;
+    
+    private InterpolationMode interpolation = InterpolationMode.LINEAR;
+    private boolean splineValid = true;
+    
     private static final double EPSILON = 1e-10;
+    private static final int INDEXED_WALK_LIMIT = 32;
     
     private boolean doubleEquals(double a, double b) {
         return Math.abs(a - b) < EPSILON;
@@ -19,6 +28,10 @@ public class LinkedListTabulatedFunction implements TabulatedFunction {
         private FunctionPoint point;
         private FunctionNode prev;
         private FunctionNode next;
+        private double slope;
+        private double derivative;
+        private double quadratic;
+        private double cubic;
         
         public FunctionNode(FunctionPoint point, FunctionNode prev, FunctionNode next) {
             this.point = point;
@@ -55,6 +68,244 @@ public class LinkedListTabulatedFunction implements TabulatedFunction {
         void setNext(FunctionNode next) {
             this.next = next;
         }
+        
+        double getSlope() {
+            return slope;
+        }
+        
+        void setSlope(double slope) {
+            this.slope = slope;
+        }
+        
+        double getDerivative() {
+            return derivative;
+        }
+        
+        void setDerivative(double derivative) {
+            this.derivative = derivative;
+        }
+        
+        double getQuadratic() {
+            return quadratic;
+        }
+        
+        void setQuadratic(double quadratic) {
+            this.quadratic = quadratic;
+        }
+        
+        double getCubic() {
+            return cubic;
+        }
+        
+        void setCubic(double cubic) {
+            this.cubic = cubic;
+        }
+    }
+    
+    private static class SkipListIndex {
+        private static final int MAX_LEVEL = 32;
+        
+        private static class IndexNode {
+            private final FunctionNode node;
+            private IndexNode right;
+            private final IndexNode down;
+            private int width;
+            
+            IndexNode(FunctionNode node, IndexNode right, IndexNode down, int width) {
+                this.node = node;
+                this.right = right;
+                this.down = down;
+                this.width = width;
+            }
+        }
+        
+        private final FunctionNode head;
+        private final Random random = new Random();
+        private final IndexNode[] update = new IndexNode[MAX_LEVEL];
+        private final int[] updatePosition = new int[MAX_LEVEL];
+        private IndexNode top;
+        private int levels;
+        private int foundPosition;
+        private int probes;
+        
+        SkipListIndex(FunctionNode head, int pointsCount) {
+            this.head = head;
+            
+            IndexNode header = new IndexNode(head, null, null, 0);
+            IndexNode last = header;
+            int lastPosition = -1;
+            int levelSize = 0;
+            FunctionNode node = head.getNext();
+            for (int i = 0; i < pointsCount; i++, node = node.getNext()) {
+                if (i % 2 == 1) {
+                    last.right = new IndexNode(node, null, null, 0);
+                    last.width = i - lastPosition;
+                    last = last.right;
+                    lastPosition = i;
+                    levelSize++;
+                }
+            }
+            last.width = pointsCount - lastPosition;
+            top = header;
+            levels = 1;
+            
+            while (levelSize > 1 && levels < MAX_LEVEL) {
+                IndexNode upperHeader = new IndexNode(head, null, top, 0);
+                IndexNode upperLast = upperHeader;
+                int upperLastPosition = -1;
+                int position = -1;
+                int upperSize = 0;
+                IndexNode current = top;
+                for (int i = 0; current.right != null; i++) {
+                    position += current.width;
+                    current = current.right;
+                    if (i % 2 == 1) {
+                        upperLast.right = new IndexNode(current.node, null, current, 0);
+                        upperLast.width = position - upperLastPosition;
+                        upperLast = upperLast.right;
+                        upperLastPosition = position;
+                        upperSize++;
+                    }
+                }
+                upperLast.width = pointsCount - upperLastPosition;
+                top = upperHeader;
+                levels++;
+                levelSize = upperSize;
+            }
+        }
+        
+        int foundPosition() {
+            return foundPosition;
+        }
+        
+        int probes() {
+            return probes;
+        }
+        
+        private IndexNode descend(int target) {
+            IndexNode current = top;
+            int position = -1;
+            probes = 0;
+            for (int level = levels; level >= 1; level--) {
+                while (current.right != null && position + current.width <= target) {
+                    position += current.width;
+                    current = current.right;
+                    probes++;
+                }
+                probes++;
+                update[level - 1] = current;
+                updatePosition[level - 1] = position;
+                if (level > 1) {
+                    current = current.down;
+                }
+            }
+            foundPosition = position;
+            return current;
+        }
+        
+        FunctionNode nodeAt(int index) {
+            FunctionNode node = descend(index).node;
+            int position = foundPosition;
+            while (position < index) {
+                node = node.getNext();
+                position++;
+                probes++;
+            }
+            foundPosition = position;
+            return node;
+        }
+        
+        FunctionNode floorNode(double x) {
+            IndexNode current = top;
+            int position = -1;
+            probes = 0;
+            for (int level = levels; level >= 1; level--) {
+                while (current.right != null && current.right.node.getPoint().getX() <= x) {
+                    position += current.width;
+                    current = current.right;
+                    probes++;
+                }
+                probes++;
+                if (level > 1) {
+                    current = current.down;
+                }
+            }
+            FunctionNode node = current.node;
+            while (node.getNext() != head && node.getNext().getPoint().getX() <= x) {
+                node = node.getNext();
+                position++;
+                probes++;
+            }
+            foundPosition = position;
+            return node;
+        }
+        
+        FunctionNode lowerNode(double x) {
+            IndexNode current = top;
+            int position = -1;
+            for (int level = levels; level >= 1; level--) {
+                while (current.right != null && x > current.right.node.getPoint().getX()) {
+                    position += current.width;
+                    current = current.right;
+                }
+                if (level > 1) {
+                    current = current.down;
+                }
+            }
+            FunctionNode node = current.node;
+            while (node.getNext() != head && x > node.getNext().getPoint().getX()) {
+                node = node.getNext();
+                position++;
+            }
+            foundPosition = position;
+            return node;
+        }
+        
+        void insert(FunctionNode node, int index, int pointsCount) {
+            descend(index - 1);
+            
+            int height = 0;
+            while (height < MAX_LEVEL && random.nextBoolean()) {
+                height++;
+            }
+            while (levels < height) {
+                top = new IndexNode(head, null, top, pointsCount);
+                update[levels] = top;
+                updatePosition[levels] = -1;
+                levels++;
+            }
+            
+            IndexNode below = null;
+            for (int level = 1; level <= levels; level++) {
+                IndexNode previous = update[level - 1];
+                int position = updatePosition[level - 1];
+                if (level <= height) {
+                    below = new IndexNode(node, previous.right, below, position + previous.width + 1 - index);
+                    previous.right = below;
+                    previous.width = index - position;
+                } else {
+                    previous.width++;
+                }
+            }
+        }
+        
+        void remove(FunctionNode node, int index) {
+            descend(index - 1);
+            
+            for (int level = 1; level <= levels; level++) {
+                IndexNode previous = update[level - 1];
+                if (previous.right != null && previous.right.node == node) {
+                    previous.width += previous.right.width - 1;
+                    previous.right = previous.right.right;
+                } else {
+                    previous.width--;
+                }
+            }
+            while (levels > 1 && top.right == null) {
+                top = top.down;
+                levels--;
+            }
+        }
     }
     
     private void initializeList() {
@@ -66,15 +317,192 @@ public class LinkedListTabulatedFunction implements TabulatedFunction {
         lastAccessedIndex = -1;
     }
     
-    private FunctionNode addNodeToTail() {
-        FunctionNode newNode = new FunctionNode(null, head.getPrev(), head);
-        head.getPrev().setNext(newNode);
-        head.setPrev(newNode);
+    private FunctionNode insertNodeBefore(FunctionNode nextNode, int index) {
+        FunctionNode prevNode = nextNode.getPrev();
+        FunctionNode newNode = new FunctionNode(null, prevNode, nextNode);
+        
+        prevNode.setNext(newNode);
+        nextNode.setPrev(newNode);
+        
         pointsCount++;
-        lastAccessedIndex = -1;
+        if (skipList != null) {
+            skipList.insert(newNode, index, pointsCount);
+        }
+        lastAccessedNode = newNode;
+        lastAccessedIndex = index;
         return newNode;
     }
     
+    private FunctionNode addNodeToTail() {
+        return insertNodeBefore(head, pointsCount);
+    }
+    
+    private void updateSlope(FunctionNode node) {
+        FunctionPoint point1 = node.getPoint();
+        FunctionPoint point2 = node.getNext().getPoint();
+        node.setSlope((point2.getY() - point1.getY()) / (point2.getX() - point1.getX()));
+    }
+    
+    private void updateSlopes(FunctionNode node) {
+        if (node.getPrev() != head) {
+            updateSlope(node.getPrev());
+        }
+        if (node.getNext() != head) {
+            updateSlope(node);
+        }
+    }
+    
+    private double segmentLength(FunctionNode node) {
+        return node.getNext().getPoint().getX() - node.getPoint().getX();
+    }
+    
+    private double monotoneDerivative(FunctionNode node) {
+        FunctionNode prevNode = node.getPrev();
+        FunctionNode nextNode = node.getNext();
+        if (prevNode == head) {
+            if (nextNode.getNext() == head) {
+                return node.getSlope();
+            }
+            return SplineCoefficients.endDerivative(segmentLength(node), node.getSlope(),
+                segmentLength(nextNode), nextNode.getSlope());
+        }
+        if (nextNode == head) {
+            FunctionNode secondNode = prevNode.getPrev();
+            if (secondNode == head) {
+                return prevNode.getSlope();
+            }
+            return SplineCoefficients.endDerivative(segmentLength(prevNode), prevNode.getSlope(),
+                segmentLength(secondNode), secondNode.getSlope());
+        }
+        return SplineCoefficients.interiorDerivative(segmentLength(prevNode), prevNode.getSlope(),
+            segmentLength(node), node.getSlope());
+    }
+    
+    private void updateCoefficients(FunctionNode node) {
+        double h = segmentLength(node);
+        double d0 = node.getDerivative();
+        double d1 = node.getNext().getDerivative();
+        node.setQuadratic(SplineCoefficients.quadratic(h, node.getSlope(), d0, d1));
+        node.setCubic(SplineCoefficients.cubic(h, node.getSlope(), d0, d1));
+    }
+    
+    private void computeNaturalDerivatives() {
+        double[] xValues = new double[pointsCount];
+        double[] slopes = new double[pointsCount - 1];
+        FunctionNode node = head.getNext();
+        for (int i = 0; i < pointsCount; i++, node = node.getNext()) {
+            xValues[i] = node.getPoint().getX();
+            if (i < pointsCount - 1) {
+                slopes[i] = node.getSlope();
+            }
+        }
+
+        double[] derivatives = new double[pointsCount];
+        SplineCoefficients.naturalDerivatives(xValues, slopes, pointsCount, derivatives, new double[pointsCount]);
+        node = head.getNext();
+        for (int i = 0; i < pointsCount; i++, node = node.getNext()) {
+            node.setDerivative(derivatives[i]);
+        }
+    }
+    
+    private void computeSpline() {
+        if (interpolation == InterpolationMode.NATURAL_CUBIC) {
+            computeNaturalDerivatives();
+        } else {
+            for (FunctionNode node = head.getNext(); node != head; node = node.getNext()) {
+                node.setDerivative(monotoneDerivative(node));
+            }
+        }
+        for (FunctionNode node = head.getNext(); node.getNext() != head; node = node.getNext()) {
+            updateCoefficients(node);
+        }
+        splineValid = true;
+    }
+    
+    private void updateSpline(FunctionNode node) {
+        if (interpolation == InterpolationMode.LINEAR) {
+            return;
+        }
+        if (interpolation == InterpolationMode.NATURAL_CUBIC) {
+            splineValid = false;
+            return;
+        }
+        
+        FunctionNode from = node;
+        FunctionNode to = node;
+        for (int i = 0; i < 2; i++) {
+            if (from.getPrev() != head) {
+                from = from.getPrev();
+            }
+            if (to.getNext() != head) {
+                to = to.getNext();
+            }
+        }
+        for (FunctionNode current = from; ; current = current.getNext()) {
+            current.setDerivative(monotoneDerivative(current));
+            if (current == to) {
+                break;
+            }
+        }
+        FunctionNode current = from.getPrev() != head ? from.getPrev() : from;
+        for (; current != to && current.getNext() != head; current = current.getNext()) {
+            updateCoefficients(current);
+        }
+        if (to.getNext() != head) {
+            updateCoefficients(to);
+        }
+    }
+    
+    private void ensureSpline() {
+        if (!splineValid) {
+            computeSpline();
+        }
+    }
+    
+    public InterpolationMode getInterpolationMode() {
+        return interpolation;
+    }
+    
+    public void setInterpolationMode(InterpolationMode interpolation) {
+        if (interpolation == null) {
+            throw new IllegalArgumentException("Способ интерполяции не задан");
+        }
+        
+        this.interpolation = interpolation;
+        if (interpolation == InterpolationMode.LINEAR) {
+            splineValid = true;
+        } else {
+            computeSpline();
+        }
+    }
+    
+    private double interpolate(FunctionNode node, double x) {
+        FunctionPoint point = node.getPoint();
+        double dx = x - point.getX();
+        if (interpolation == InterpolationMode.LINEAR) {
+            return point.getY() + node.getSlope() * dx;
+        }
+        return point.getY() + dx * (node.getDerivative() + dx * (node.getQuadratic() + dx * node.getCubic()));
+    }
+    
+    private double segmentArea(FunctionNode node) {
+        double h = segmentLength(node);
+        double y0 = node.getPoint().getY();
+        double y1 = node.getNext().getPoint().getY();
+        if (interpolation == InterpolationMode.LINEAR) {
+            return h * (y0 + y1) * 0.5;
+        }
+        return SplineCoefficients.area(h, y0, y1, node.getDerivative(), node.getNext().getDerivative());
+    }
+    
+    private double partialArea(FunctionNode node, double dx) {
+        double y = node.getPoint().getY();
+        if (interpolation == InterpolationMode.LINEAR) {
+            return dx * (y + 0.5 * node.getSlope() * dx);
+        }
+        return SplineCoefficients.partialArea(y, node.getDerivative(), node.getQuadratic(), node.getCubic(), dx);
+    }
+    
     public LinkedListTabulatedFunction(double leftX, double rightX, int pointsCount) {
         if (leftX >= rightX) {
             throw new IllegalArgumentException("Левая граница области определения не может быть больше или равна правой");
@@ -88,7 +516,9 @@ public class LinkedListTabulatedFunction implements TabulatedFunction {
         double step = (rightX - leftX) / (pointsCount - 1);
         for (int i = 0; i < pointsCount; i++) {
             double x = leftX + i * step;
-            addNodeToTail().setPoint(new FunctionPoint(x, 0.0));
+            FunctionNode node = addNodeToTail();
+            node.setPoint(new FunctionPoint(x, 0.0));
+            updateSlopes(node);
         }
     }
     
@@ -105,16 +535,26 @@ public class LinkedListTabulatedFunction implements TabulatedFunction {
         double step = (rightX - leftX) / (values.length - 1);
         for (int i = 0; i < values.length; i++) {
             double x = leftX + i * step;
-            addNodeToTail().setPoint(new FunctionPoint(x, values[i]));
+            FunctionNode node = addNodeToTail();
+            node.setPoint(new FunctionPoint(x, values[i]));
+            updateSlopes(node);
+        }
+    }
+    
+    LinkedListTabulatedFunction(double[] xValues, double[] yValues, int pointsCount) {
+        initializeList();
+        
+        for (int i = 0; i < pointsCount; i++) {
+            FunctionNode node = addNodeToTail();
+            node.setPoint(new FunctionPoint(xValues[i], yValues[i]));
+            updateSlopes(node);
         }
     }
     
     
     private FunctionNode getNodeByIndex(int index) {
         if (index < 0 || index >= pointsCount) {
-            throw new FunctionPointIndexOutOfBoundsException(
-                "Индекс " + index + " вне границ [0, " + (pointsCount - 1) + "]"
-            );
+            throw new FunctionPointIndexOutOfBoundsException(index, pointsCount);
         }
         
         if (lastAccessedIndex != -1) {
@@ -122,8 +562,12 @@ public class LinkedListTabulatedFunction implements TabulatedFunction {
             if (Math.abs(diff) == 1) {
                 lastAccessedNode = (diff > 0) ? lastAccessedNode.getNext() : lastAccessedNode.getPrev();
                 lastAccessedIndex = index;
+                if (statistics != null) {
+                    statistics.record(1, true);
+                }
                 return lastAccessedNode;
-            } else if (Math.abs(diff) < index && Math.abs(diff) < pointsCount - index - 1) {
+            } else if (Math.abs(diff) < index && Math.abs(diff) < pointsCount - index - 1 &&
+                       (skipList == null || Math.abs(diff) <= INDEXED_WALK_LIMIT)) {
                 FunctionNode currentNode = lastAccessedNode;
                 int currentIndex = lastAccessedIndex;
                 
@@ -132,6 +576,9 @@ public class LinkedListTabulatedFunction implements TabulatedFunction {
                     currentIndex += (index > currentIndex) ? 1 : -1;
                 }
                 
+                if (statistics != null) {
+                    statistics.record(Math.abs(diff), true);
+                }
                 lastAccessedNode = currentNode;
                 lastAccessedIndex = index;
                 return currentNode;
@@ -141,7 +588,15 @@ public class LinkedListTabulatedFunction implements TabulatedFunction {
         FunctionNode currentNode;
         int currentIndex;
         
-        if (index < pointsCount - index) {
+        if (statistics != null && skipList == null) {
+            statistics.record(Math.min(index, pointsCount - index - 1), false);
+        }
+        if (skipList != null) {
+            currentNode = skipList.nodeAt(index);
+            if (statistics != null) {
+                statistics.record(skipList.probes(), false);
+            }
+        } else if (index < pointsCount - index) {
             currentNode = head.getNext();
             currentIndex = 0;
             while (currentIndex < index) {
@@ -166,32 +621,19 @@ public class LinkedListTabulatedFunction implements TabulatedFunction {
     
     private FunctionNode addNodeByIndex(int index) {
         if (index < 0 || index > pointsCount) {
-            throw new FunctionPointIndexOutOfBoundsException(
-                "Индекс " + index + " вне границ [0, " + pointsCount + "]"
-            );
+            throw new FunctionPointIndexOutOfBoundsException(index, pointsCount + 1);
         }
         
         if (index == pointsCount) {
             return addNodeToTail();
         }
         
-        FunctionNode nextNode = getNodeByIndex(index);
-        FunctionNode prevNode = nextNode.getPrev();
-        FunctionNode newNode = new FunctionNode(null, prevNode, nextNode);
-        
-        prevNode.setNext(newNode);
-        nextNode.setPrev(newNode);
-        
-        pointsCount++;
-        lastAccessedIndex = -1;
-        return newNode;
+        return insertNodeBefore(getNodeByIndex(index), index);
     }
     
     private FunctionNode deleteNodeByIndex(int index) {
         if (index < 0 || index >= pointsCount) {
-            throw new FunctionPointIndexOutOfBoundsException(
-                "Индекс " + index + " вне границ [0, " + (pointsCount - 1) + "]"
-            );
+            throw new FunctionPointIndexOutOfBoundsException(index, pointsCount);
         }
         
         if (pointsCount < 3) {
@@ -199,17 +641,24 @@ public class LinkedListTabulatedFunction implements TabulatedFunction {
         }
         
         FunctionNode nodeToDelete = getNodeByIndex(index);
+        if (skipList != null) {
+            skipList.remove(nodeToDelete, index);
+        }
         FunctionNode prevNode = nodeToDelete.getPrev();
         FunctionNode nextNode = nodeToDelete.getNext();
         
         prevNode.setNext(nextNode);
         nextNode.setPrev(prevNode);
+        if (prevNode != head && nextNode != head) {
+            updateSlope(prevNode);
+        }
+        updateSpline(prevNode != head ? prevNode : nextNode);
         
         pointsCount--;
         
         if (lastAccessedIndex == index) {
-            lastAccessedIndex = -1;
-            lastAccessedNode = head;
+            lastAccessedNode = (index > 0) ? prevNode : nextNode;
+            lastAccessedIndex = (index > 0) ? index - 1 : 0;
         } else if (lastAccessedIndex > index) {
             lastAccessedIndex--;
         }
@@ -217,6 +666,52 @@ public class LinkedListTabulatedFunction implements TabulatedFunction {
         return nodeToDelete;
     }
     
+    public double integrate(double a, double b) {
+        if (a > b) {
+            return -integrate(b, a);
+        }
+        if (!(a >= getLeftDomainBorder() && b <= getRightDomainBorder())) {
+            return Double.NaN;
+        }
+        ensureSpline();
+        
+        FunctionNode node = findSegmentNode(a);
+        double result = -partialArea(node, a - node.getPoint().getX());
+        while (node.getNext().getNext() != head && b > node.getNext().getPoint().getX()) {
+            result += segmentArea(node);
+            node = node.getNext();
+        }
+        return result + partialArea(node, b - node.getPoint().getX());
+    }
+    
+    public double[] findCrossings(double y) {
+        Crossings crossings = new Crossings(Integer.MAX_VALUE);
+        collectCrossings(y, crossings);
+        return crossings.toArray();
+    }
+    
+    public double inverse(double y) {
+        Crossings crossings = new Crossings(1);
+        collectCrossings(y, crossings);
+        return crossings.first();
+    }
+    
+    private void collectCrossings(double y, Crossings crossings) {
+        ensureSpline();
+        for (FunctionNode node = head.getNext(); node.getNext() != head && !crossings.isFull(); node = node.getNext()) {
+            FunctionPoint point = node.getPoint();
+            double h = segmentLength(node);
+            double y1 = node.getNext().getPoint().getY();
+            boolean last = node.getNext().getNext() == head;
+            if (interpolation == InterpolationMode.LINEAR) {
+                crossings.addLinear(point.getX(), h, point.getY(), y1, last, y);
+            } else {
+                crossings.addCubic(point.getX(), h, point.getY(), y1, node.getDerivative(),
+                    node.getQuadratic(), node.getCubic(), last, y);
+            }
+        }
+    }
+    
     public double getLeftDomainBorder() {
         if (pointsCount == 0) {
             throw new IllegalStateException("Функция не содержит точек");
@@ -231,58 +726,134 @@ public class LinkedListTabulatedFunction implements TabulatedFunction {
         return head.getPrev().getPoint().getX();
     }
     
-    private int findNodeIndex(FunctionNode node) {
-    FunctionNode current = head.getNext();
-    for (int i = 0; i < pointsCount; i++) {
-        if (current == node) {
-            return i;
+    private boolean isNearLastAccessed(double x) {
+        if (lastAccessedIndex == -1) {
+            return false;
+        }
+        
+        FunctionNode node = lastAccessedNode;
+        if (x < node.getPoint().getX()) {
+            return node.getPrev() != head && x >= node.getPrev().getPoint().getX();
+        }
+        FunctionNode nextNode = node.getNext();
+        return nextNode == head || nextNode.getNext() == head || x <= nextNode.getNext().getPoint().getX();
+    }
+    
+    private FunctionNode findSegmentNode(double x) {
+        FunctionNode node = lastAccessedNode;
+        int index = lastAccessedIndex;
+        boolean cacheHit = index != -1;
+        int probes = 0;
+        
+        if (skipList != null && !isNearLastAccessed(x)) {
+            cacheHit = false;
+            node = skipList.floorNode(x);
+            index = skipList.foundPosition();
+            probes = skipList.probes();
+        } else if (index == -1) {
+            if (x - getLeftDomainBorder() < getRightDomainBorder() - x) {
+                node = head.getNext();
+                index = 0;
+            } else {
+                node = head.getPrev();
+                index = pointsCount - 1;
+            }
+        }
+        int startIndex = index;
+        if (node.getNext() == head) {
+            node = node.getPrev();
+            index--;
+        }
+        while (x < node.getPoint().getX()) {
+            node = node.getPrev();
+            index--;
+        }
+        while (x > node.getNext().getPoint().getX()) {
+            node = node.getNext();
+            index++;
         }
-        current = current.getNext();
+        
+        if (statistics != null) {
+            int steps = Math.abs(index - startIndex);
+            statistics.record(probes + steps, cacheHit && steps <= 1);
+        }
+        lastAccessedNode = node;
+        lastAccessedIndex = index;
+        return node;
     }
-    return -1;
-}
     
     public double getFunctionValue(double x) {
         if (pointsCount == 0) return Double.NaN;
+        
+        if (!(x >= getLeftDomainBorder() && x <= getRightDomainBorder())) {
+            return Double.NaN;
+        }
+        
+        ensureSpline();
+        FunctionNode node = findSegmentNode(x);
+        return interpolate(node, x);
+    }
     
-        FunctionNode startNode = (lastAccessedIndex != -1) ? lastAccessedNode : head.getNext();
-        int startIndex = (lastAccessedIndex != -1) ? lastAccessedIndex : 0;
-    
-        FunctionNode currentNode = startNode;
-        int checkedNodes = 0;
+    public void getFunctionValues(double[] xs, double[] out) {
+        getFunctionValues(xs, 0, out, 0, xs.length);
+    }
     
-        while (checkedNodes < pointsCount) {
-            FunctionPoint point1 = currentNode.getPoint();
-            FunctionPoint point2 = currentNode.getNext().getPoint();
+    public void getFunctionValues(double[] xs, int xsOffset, double[] out, int outOffset, int length) {
+        if (xsOffset < 0 || outOffset < 0 || length < 0 ||
+            xsOffset + length > xs.length || outOffset + length > out.length) {
+            throw new IllegalArgumentException("Диапазон выходит за границы массива");
+        }
         
-            if (point1 == null || point2 == null) {
-                currentNode = currentNode.getNext();
-                checkedNodes++;
+        double leftX = getLeftDomainBorder();
+        double rightX = getRightDomainBorder();
+        ensureSpline();
+        
+        for (int k = 0; k < length; k++) {
+            double x = xs[xsOffset + k];
+            if (!(x >= leftX && x <= rightX)) {
+                out[outOffset + k] = Double.NaN;
                 continue;
             }
-        
-            double x1 = point1.getX();
-            double x2 = point2.getX();
-        
-            if (x >= x1 && x <= x2) {
-                double y1 = point1.getY();
-                double y2 = point2.getY();
-            
-                lastAccessedNode = currentNode;
-                lastAccessedIndex = findNodeIndex(currentNode);
             
-                return y1 + (y2 - y1) * (x - x1) / (x2 - x1);
+            FunctionNode node = findSegmentNode(x);
+            out[outOffset + k] = interpolate(node, x);
+        }
+    }
+    
+    private class ListCursor implements FunctionPointCursor {
+        private FunctionNode node = head;
+        private int index = -1;
+        
+        public boolean next() {
+            if (node.getNext() == head) {
+                return false;
             }
+            node = node.getNext();
+            index++;
+            return true;
+        }
         
-            currentNode = currentNode.getNext();
-            checkedNodes++;
+        public int getIndex() {
+            return index;
+        }
         
-            if (currentNode == head) {
-                currentNode = head.getNext();
-            }
+        public double getX() {
+            return node.getPoint().getX();
+        }
+        
+        public double getY() {
+            return node.getPoint().getY();
         }
+        
+        public void setY(double y) {
+            node.getPoint().setY(y);
+            updateSlopes(node);
+            updateSpline(node);
+        }
+    }
     
-        return Double.NaN; 
+    public FunctionPointCursor cursor() {
+        return new ListCursor();
     }
     
     public int getPointsCount() {
@@ -293,36 +864,44 @@ public class LinkedListTabulatedFunction implements TabulatedFunction {
         return new FunctionPoint(getNodeByIndex(index).getPoint());
     }
     
-    public void setPoint(int index, FunctionPoint point) throws InappropriateFunctionPointException {
-        FunctionNode node = getNodeByIndex(index);
-        double newX = point.getX();
-        
+    private boolean fitsAt(FunctionNode node, double newX) {
+        FunctionNode prevNode = node.getPrev();
+        FunctionNode nextNode = node.getNext();
+        return Segments.fits(prevNode != head ? prevNode.getPoint().getX() : Double.NEGATIVE_INFINITY,
+            nextNode != head ? nextNode.getPoint().getX() : Double.POSITIVE_INFINITY, newX, false);
+    }
+    
+    private InappropriateFunctionPointException outOfOrder(FunctionNode node, double newX) {
         FunctionNode prevNode = node.getPrev();
         FunctionNode nextNode = node.getNext();
+        return InappropriateFunctionPointException.outOfOrder(newX,
+            prevNode != head ? prevNode.getPoint().getX() : Double.NEGATIVE_INFINITY,
+            nextNode != head ? nextNode.getPoint().getX() : Double.POSITIVE_INFINITY);
+    }
+    
+    public void setPoint(int index, FunctionPoint point) throws InappropriateFunctionPointException {
+        FunctionNode node = getNodeByIndex(index);
+        if (!fitsAt(node, point.getX())) {
+            throw outOfOrder(node, point.getX());
+        }
         
-        if (prevNode == head) {
-            if (newX >= nextNode.getPoint().getX() && !doubleEquals(newX, nextNode.getPoint().getX())) {
-                throw new InappropriateFunctionPointException(
-                    "Новая координата x=" + newX + " должна быть меньше " + nextNode.getPoint().getX()
-                );
-            }
-        } else if (nextNode == head) {
-            if (newX <= prevNode.getPoint().getX() && !doubleEquals(newX, prevNode.getPoint().getX())) {
-                throw new InappropriateFunctionPointException(
-                    "Новая координата x=" + newX + " должна быть больше " + prevNode.getPoint().getX()
-                );
-            }
-        } else {
-            if ((newX <= prevNode.getPoint().getX() && !doubleEquals(newX, prevNode.getPoint().getX())) || 
-                (newX >= nextNode.getPoint().getX() && !doubleEquals(newX, nextNode.getPoint().getX()))) {
-                throw new InappropriateFunctionPointException(
-                    "Новая координата x=" + newX + " должна быть в интервале (" + 
-                    prevNode.getPoint().getX() + ", " + nextNode.getPoint().getX() + ")"
-                );
-            }
+        node.getPoint().setX(point.getX());
+        node.getPoint().setY(point.getY());
+        updateSlopes(node);
+        updateSpline(node);
+    }
+    
+    public boolean trySetPoint(int index, FunctionPoint point) {
+        FunctionNode node = getNodeByIndex(index);
+        if (!fitsAt(node, point.getX())) {
+            return false;
         }
         
-        node.setPoint(new FunctionPoint(point));
+        node.getPoint().setX(point.getX());
+        node.getPoint().setY(point.getY());
+        updateSlopes(node);
+        updateSpline(node);
+        return true;
     }
     
     public double getPointX(int index) {
@@ -334,50 +913,83 @@ public class LinkedListTabulatedFunction implements TabulatedFunction {
     }
     
     public void setPointX(int index, double x) throws InappropriateFunctionPointException {
-        FunctionPoint currentPoint = getNodeByIndex(index).getPoint();
-        setPoint(index, new FunctionPoint(x, currentPoint.getY()));
+        FunctionNode node = getNodeByIndex(index);
+        if (!fitsAt(node, x)) {
+            throw outOfOrder(node, x);
+        }
+        node.getPoint().setX(x);
+        updateSlopes(node);
+        updateSpline(node);
     }
     
     public void setPointY(int index, double y) {
         FunctionNode node = getNodeByIndex(index);
-        FunctionPoint currentPoint = node.getPoint();
-        node.setPoint(new FunctionPoint(currentPoint.getX(), y));
+        node.getPoint().setY(y);
+        updateSlopes(node);
+        updateSpline(node);
     }
     
     public void deletePoint(int index) {
         deleteNodeByIndex(index);
     }
     
+    public SearchStatistics getSearchStatistics() {
+        return statistics;
+    }
+    
+    public void setSearchStatisticsEnabled(boolean enabled) {
+        if (enabled && statistics == null) {
+            statistics = new SearchStatistics();
+        } else if (!enabled) {
+            statistics = null;
+        }
+    }
+    
+    public boolean isIndexed() {
+        return skipList != null;
+    }
+    
+    public void setIndexed(boolean indexed) {
+        if (indexed && skipList == null) {
+            skipList = new SkipListIndex(head, pointsCount);
+        } else if (!indexed) {
+            skipList = null;
+        }
+    }
+    
     public void addPoint(FunctionPoint point) throws InappropriateFunctionPointException {
-        FunctionNode currentNode = head.getNext();
-        for (int i = 0; i < pointsCount; i++) {
-            if (doubleEquals(point.getX(), currentNode.getPoint().getX())) {
-                throw new InappropriateFunctionPointException(
-                    "Точка с x=" + point.getX() + " уже существует"
-                );
+        if (!tryAddPoint(point)) {
+            throw InappropriateFunctionPointException.duplicate(point.getX());
+        }
+    }
+    
+    public boolean tryAddPoint(FunctionPoint point) {
+        double x = point.getX();
+        FunctionNode prevNode;
+        int insertIndex;
+        
+        if (skipList != null) {
+            prevNode = skipList.lowerNode(x);
+            insertIndex = skipList.foundPosition() + 1;
+        } else {
+            prevNode = head;
+            insertIndex = 0;
+            while (prevNode.getNext() != head && x > prevNode.getNext().getPoint().getX()) {
+                prevNode = prevNode.getNext();
+                insertIndex++;
             }
-            currentNode = currentNode.getNext();
         }
         
-        int insertIndex = 0;
-        currentNode = head.getNext();
-        while (insertIndex < pointsCount && point.getX() > currentNode.getPoint().getX()) {
-            currentNode = currentNode.getNext();
-            insertIndex++;
+        FunctionNode nextNode = prevNode.getNext();
+        if ((prevNode != head && (doubleEquals(x, prevNode.getPoint().getX()) || x <= prevNode.getPoint().getX())) ||
+            (nextNode != head && (doubleEquals(x, nextNode.getPoint().getX()) || x >= nextNode.getPoint().getX()))) {
+            return false;
         }
         
-        FunctionNode newNode = addNodeByIndex(insertIndex);
+        FunctionNode newNode = insertNodeBefore(nextNode, insertIndex);
         newNode.setPoint(new FunctionPoint(point));
-        
-        FunctionNode prevNode = newNode.getPrev();
-        FunctionNode nextNode = newNode.getNext();
-        
-        if ((prevNode != head && newNode.getPoint().getX() <= prevNode.getPoint().getX()) ||
-            (nextNode != head && newNode.getPoint().getX() >= nextNode.getPoint().getX())) {
-            deleteNodeByIndex(insertIndex);
-            throw new InappropriateFunctionPointException(
-                "Новая точка нарушает упорядоченность функции"
-            );
-        }
+        updateSlopes(newNode);
+        updateSpline(newNode);
+        return true;
     }
 }
\ No newline at end of file
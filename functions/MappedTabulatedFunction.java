@@ -0,0 +1,280 @@
+package functions;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+public class MappedTabulatedFunction implements TabulatedFunction, Closeable {
+    static final int MAGIC = 0x46424154;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 32;
+    static final int POINT_SIZE = 16;
+
+    private static final int CHUNK_SHIFT = 26;
+    private static final int CHUNK_MASK = (1 << CHUNK_SHIFT) - 1;
+    private static final long CHUNK_BYTES = (long) POINT_SIZE << CHUNK_SHIFT;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer header;
+    private final MappedByteBuffer[] chunks;
+    private final int pointsCount;
+    private final boolean writable;
+    private final Segments.Abscissas abscissas = this::x;
+
+    private MappedTabulatedFunction(FileChannel channel, boolean writable) throws IOException {
+        this.channel = channel;
+        this.writable = writable;
+
+        FileChannel.MapMode mode = writable ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY;
+        long size = channel.size();
+        if (size < HEADER_SIZE) {
+            throw new IOException("Некорректный формат файла: отсутствует заголовок");
+        }
+
+        header = channel.map(mode, 0, HEADER_SIZE);
+        header.order(ByteOrder.LITTLE_ENDIAN);
+        if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+            throw new IOException("Некорректный формат файла: неизвестная сигнатура или версия");
+        }
+        long count = header.getLong(8);
+        if (count < 2 || count > Integer.MAX_VALUE || size != HEADER_SIZE + count * POINT_SIZE) {
+            throw new IOException("Некорректный формат файла: количество точек " + count + " не соответствует размеру");
+        }
+        pointsCount = (int) count;
+
+        int chunkCount = (int) ((count + CHUNK_MASK) >>> CHUNK_SHIFT);
+        chunks = new MappedByteBuffer[chunkCount];
+        for (int i = 0; i < chunkCount; i++) {
+            long offset = HEADER_SIZE + i * CHUNK_BYTES;
+            chunks[i] = channel.map(mode, offset, Math.min(CHUNK_BYTES, size - offset));
+            chunks[i].order(ByteOrder.LITTLE_ENDIAN);
+        }
+    }
+
+    public static MappedTabulatedFunction open(Path path) throws IOException {
+        return open(path, false);
+    }
+
+    public static MappedTabulatedFunction open(Path path, boolean writable) throws IOException {
+        FileChannel channel = writable
+            ? FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)
+            : FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            return new MappedTabulatedFunction(channel, writable);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public static void write(TabulatedFunction function, Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            TabulatedFunctionIO.writeBinary(function, channel);
+        }
+    }
+
+    private double x(int index) {
+        return chunks[index >>> CHUNK_SHIFT].getDouble((index & CHUNK_MASK) * POINT_SIZE);
+    }
+
+    private double y(int index) {
+        return chunks[index >>> CHUNK_SHIFT].getDouble((index & CHUNK_MASK) * POINT_SIZE + 8);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= pointsCount) {
+            throw new FunctionPointIndexOutOfBoundsException(index, pointsCount);
+        }
+    }
+
+    private void checkWritable() {
+        if (!writable) {
+            throw new UnsupportedOperationException("Файл функции открыт только для чтения");
+        }
+    }
+
+    public double getLeftDomainBorder() {
+        return x(0);
+    }
+
+    public double getRightDomainBorder() {
+        return x(pointsCount - 1);
+    }
+
+    public double getFunctionValue(double x) {
+        if (!(x >= getLeftDomainBorder() && x <= getRightDomainBorder())) {
+            return Double.NaN;
+        }
+
+        int i = Segments.find(abscissas, pointsCount, x);
+        double x1 = x(i);
+        double y1 = y(i);
+        return y1 + (y(i + 1) - y1) * (x - x1) / (x(i + 1) - x1);
+    }
+
+    public void getFunctionValues(double[] xs, double[] out) {
+        getFunctionValues(xs, 0, out, 0, xs.length);
+    }
+
+    public void getFunctionValues(double[] xs, int xsOffset, double[] out, int outOffset, int length) {
+        if (xsOffset < 0 || outOffset < 0 || length < 0 ||
+            xsOffset + length > xs.length || outOffset + length > out.length) {
+            throw new IllegalArgumentException("Диапазон выходит за границы массива");
+        }
+
+        double leftX = getLeftDomainBorder();
+        double rightX = getRightDomainBorder();
+        int i = 0;
+        double previousX = leftX;
+
+        for (int k = 0; k < length; k++) {
+            double x = xs[xsOffset + k];
+            if (!(x >= leftX && x <= rightX)) {
+                out[outOffset + k] = Double.NaN;
+                continue;
+            }
+
+            i = Segments.locate(abscissas, pointsCount, i, previousX, x);
+            previousX = x;
+
+            double x1 = x(i);
+            double y1 = y(i);
+            out[outOffset + k] = y1 + (y(i + 1) - y1) * (x - x1) / (x(i + 1) - x1);
+        }
+    }
+
+    public int getPointsCount() {
+        return pointsCount;
+    }
+
+    public FunctionPoint getPoint(int index) {
+        checkIndex(index);
+        return new FunctionPoint(x(index), y(index));
+    }
+
+    private class MappedCursor implements FunctionPointCursor {
+        private int index = -1;
+
+        public boolean next() {
+            if (index + 1 >= pointsCount) {
+                return false;
+            }
+            index++;
+            return true;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public double getX() {
+            return x(index);
+        }
+
+        public double getY() {
+            return y(index);
+        }
+
+        public void setY(double y) {
+            setPointY(index, y);
+        }
+    }
+
+    public FunctionPointCursor cursor() {
+        return new MappedCursor();
+    }
+
+    private void putX(int index, double x) {
+        chunks[index >>> CHUNK_SHIFT].putDouble((index & CHUNK_MASK) * POINT_SIZE, x);
+        if (index == 0) {
+            header.putDouble(16, x);
+        } else if (index == pointsCount - 1) {
+            header.putDouble(24, x);
+        }
+    }
+
+    private void putY(int index, double y) {
+        chunks[index >>> CHUNK_SHIFT].putDouble((index & CHUNK_MASK) * POINT_SIZE + 8, y);
+    }
+
+    public void setPoint(int index, FunctionPoint point) throws InappropriateFunctionPointException {
+        if (!trySetPoint(index, point)) {
+            throw Segments.outOfOrder(abscissas, pointsCount, index, point.getX());
+        }
+    }
+
+    public boolean trySetPoint(int index, FunctionPoint point) {
+        checkIndex(index);
+        checkWritable();
+        if (!Segments.fitsAt(abscissas, pointsCount, index, point.getX(), false)) {
+            return false;
+        }
+
+        putX(index, point.getX());
+        putY(index, point.getY());
+        return true;
+    }
+
+    public double getPointX(int index) {
+        checkIndex(index);
+        return x(index);
+    }
+
+    public double getPointY(int index) {
+        checkIndex(index);
+        return y(index);
+    }
+
+    public void setPointX(int index, double x) throws InappropriateFunctionPointException {
+        checkIndex(index);
+        checkWritable();
+        if (!Segments.fitsAt(abscissas, pointsCount, index, x, true)) {
+            throw Segments.outOfOrder(abscissas, pointsCount, index, x);
+        }
+
+        putX(index, x);
+    }
+
+    public void setPointY(int index, double y) {
+        checkIndex(index);
+        checkWritable();
+
+        putY(index, y);
+    }
+
+    public void deletePoint(int index) {
+        throw new UnsupportedOperationException("Изменение количества точек в отображённом файле не поддерживается");
+    }
+
+    public void addPoint(FunctionPoint point) throws InappropriateFunctionPointException {
+        throw new UnsupportedOperationException("Изменение количества точек в отображённом файле не поддерживается");
+    }
+
+    public boolean tryAddPoint(FunctionPoint point) {
+        throw new UnsupportedOperationException("Изменение количества точек в отображённом файле не поддерживается");
+    }
+
+    public void force() {
+        if (writable) {
+            header.force();
+            for (MappedByteBuffer chunk : chunks) {
+                chunk.force();
+            }
+        }
+    }
+
+    public void close() throws IOException {
+        force();
+        channel.close();
+    }
+
+    public String toString() {
+        return "MappedTabulatedFunction{pointsCount=" + pointsCount +
+            ", domain=[" + getLeftDomainBorder() + ", " + getRightDomainBorder() + "]}";
+    }
+}
\ No newline at end of file
@@ -0,0 +1,297 @@
+package functions;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+
+public class OffHeapTabulatedFunction implements TabulatedFunction, AutoCloseable {
+    private static final double EPSILON = 1e-10;
+    private static final int POINT_SIZE = 16;
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE / POINT_SIZE;
+
+    private DoubleBuffer points;
+    private int capacity;
+    private int pointsCount;
+    private final Segments.Abscissas abscissas = this::x;
+
+    private boolean doubleEquals(double a, double b) {
+        return Math.abs(a - b) < EPSILON;
+    }
+
+    public OffHeapTabulatedFunction(double leftX, double rightX, int pointsCount) {
+        this(leftX, rightX, new double[Math.max(pointsCount, 0)]);
+    }
+
+    public OffHeapTabulatedFunction(double leftX, double rightX, double[] values) {
+        if (leftX >= rightX) {
+            throw new IllegalArgumentException("Левая граница области определения не может быть больше или равна правой");
+        }
+        if (values.length < 2) {
+            throw new IllegalArgumentException("Количество точек не может быть меньше двух");
+        }
+
+        allocate(values.length);
+        double step = (rightX - leftX) / (values.length - 1);
+        for (int i = 0; i < values.length; i++) {
+            putX(i, leftX + i * step);
+            putY(i, values[i]);
+        }
+        pointsCount = values.length;
+    }
+
+    public OffHeapTabulatedFunction(TabulatedFunction function) {
+        int count = function.getPointsCount();
+        if (count < 2) {
+            throw new IllegalArgumentException("Количество точек не может быть меньше двух");
+        }
+        allocate(count);
+        FunctionPointCursor cursor = function.cursor();
+        while (pointsCount < count && cursor.next()) {
+            putX(pointsCount, cursor.getX());
+            putY(pointsCount, cursor.getY());
+            pointsCount++;
+        }
+    }
+
+    private void allocate(int newCapacity) {
+        if (newCapacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Количество точек не может превышать " + MAX_CAPACITY);
+        }
+        DoubleBuffer newPoints = ByteBuffer.allocateDirect(newCapacity * POINT_SIZE).order(ByteOrder.nativeOrder()).asDoubleBuffer();
+        if (capacity > 0) {
+            newPoints.put(0, points(), 0, 2 * pointsCount);
+        }
+        points = newPoints;
+        capacity = newCapacity;
+    }
+
+    private void ensureCapacity(int required) {
+        if (required > capacity) {
+            allocate(Math.max(required, (int) Math.min(MAX_CAPACITY, capacity + capacity / 2 + 1L)));
+        }
+    }
+
+    private DoubleBuffer points() {
+        DoubleBuffer current = points;
+        if (current == null) {
+            throw new IllegalStateException("Функция закрыта, память освобождена");
+        }
+        return current;
+    }
+
+    private double x(int index) {
+        return points().get(2 * index);
+    }
+
+    private double y(int index) {
+        return points().get(2 * index + 1);
+    }
+
+    private void putX(int index, double x) {
+        points().put(2 * index, x);
+    }
+
+    private void putY(int index, double y) {
+        points().put(2 * index + 1, y);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= pointsCount) {
+            throw new FunctionPointIndexOutOfBoundsException(index, pointsCount);
+        }
+    }
+
+    public double getLeftDomainBorder() {
+        return x(0);
+    }
+
+    public double getRightDomainBorder() {
+        return x(pointsCount - 1);
+    }
+
+    public double getFunctionValue(double x) {
+        if (!(x >= getLeftDomainBorder() && x <= getRightDomainBorder())) {
+            return Double.NaN;
+        }
+
+        int i = Segments.find(abscissas, pointsCount, x);
+        double x1 = x(i);
+        double y1 = y(i);
+        return y1 + (y(i + 1) - y1) * (x - x1) / (x(i + 1) - x1);
+    }
+
+    public void getFunctionValues(double[] xs, double[] out) {
+        getFunctionValues(xs, 0, out, 0, xs.length);
+    }
+
+    public void getFunctionValues(double[] xs, int xsOffset, double[] out, int outOffset, int length) {
+        if (xsOffset < 0 || outOffset < 0 || length < 0 ||
+            xsOffset + length > xs.length || outOffset + length > out.length) {
+            throw new IllegalArgumentException("Диапазон выходит за границы массива");
+        }
+
+        double leftX = getLeftDomainBorder();
+        double rightX = getRightDomainBorder();
+        int i = 0;
+        double previousX = leftX;
+
+        for (int k = 0; k < length; k++) {
+            double x = xs[xsOffset + k];
+            if (!(x >= leftX && x <= rightX)) {
+                out[outOffset + k] = Double.NaN;
+                continue;
+            }
+
+            i = Segments.locate(abscissas, pointsCount, i, previousX, x);
+            previousX = x;
+
+            double x1 = x(i);
+            double y1 = y(i);
+            out[outOffset + k] = y1 + (y(i + 1) - y1) * (x - x1) / (x(i + 1) - x1);
+        }
+    }
+
+    public int getPointsCount() {
+        return pointsCount;
+    }
+
+    public FunctionPoint getPoint(int index) {
+        checkIndex(index);
+        return new FunctionPoint(x(index), y(index));
+    }
+
+    private class OffHeapCursor implements FunctionPointCursor {
+        private int index = -1;
+
+        public boolean next() {
+            if (index + 1 >= pointsCount) {
+                return false;
+            }
+            index++;
+            return true;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public double getX() {
+            return x(index);
+        }
+
+        public double getY() {
+            return y(index);
+        }
+
+        public void setY(double y) {
+            putY(index, y);
+        }
+    }
+
+    public FunctionPointCursor cursor() {
+        return new OffHeapCursor();
+    }
+
+    public void setPoint(int index, FunctionPoint point) throws InappropriateFunctionPointException {
+        if (!trySetPoint(index, point)) {
+            throw Segments.outOfOrder(abscissas, pointsCount, index, point.getX());
+        }
+    }
+
+    public boolean trySetPoint(int index, FunctionPoint point) {
+        checkIndex(index);
+        double newX = point.getX();
+        if (!Segments.fitsAt(abscissas, pointsCount, index, newX, false)) {
+            return false;
+        }
+
+        putX(index, newX);
+        putY(index, point.getY());
+        return true;
+    }
+
+    public double getPointX(int index) {
+        checkIndex(index);
+        return x(index);
+    }
+
+    public void setPointX(int index, double x) throws InappropriateFunctionPointException {
+        checkIndex(index);
+        if (!Segments.fitsAt(abscissas, pointsCount, index, x, true)) {
+            throw Segments.outOfOrder(abscissas, pointsCount, index, x);
+        }
+
+        putX(index, x);
+    }
+
+    public double getPointY(int index) {
+        checkIndex(index);
+        return y(index);
+    }
+
+    public void setPointY(int index, double y) {
+        checkIndex(index);
+        putY(index, y);
+    }
+
+    public void deletePoint(int index) {
+        checkIndex(index);
+        if (pointsCount < 3) {
+            throw new IllegalStateException("Невозможно удалить точку: количество точек не может быть меньше двух");
+        }
+
+        DoubleBuffer current = points();
+        current.put(2 * index, current, 2 * (index + 1), 2 * (pointsCount - index - 1));
+        pointsCount--;
+    }
+
+    public void addPoint(FunctionPoint point) throws InappropriateFunctionPointException {
+        if (!tryAddPoint(point)) {
+            throw InappropriateFunctionPointException.duplicate(point.getX());
+        }
+    }
+
+    public boolean tryAddPoint(FunctionPoint point) {
+        double x = point.getX();
+        int insertIndex = 0;
+        int high = pointsCount;
+        while (insertIndex < high) {
+            int middle = (insertIndex + high) >>> 1;
+            if (x > x(middle)) {
+                insertIndex = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+
+        if ((insertIndex > 0 && doubleEquals(x, x(insertIndex - 1))) ||
+            (insertIndex < pointsCount && doubleEquals(x, x(insertIndex)))) {
+            return false;
+        }
+
+        ensureCapacity(pointsCount + 1);
+        DoubleBuffer current = points();
+        current.put(2 * (insertIndex + 1), current, 2 * insertIndex, 2 * (pointsCount - insertIndex));
+        putX(insertIndex, x);
+        putY(insertIndex, point.getY());
+        pointsCount++;
+        return true;
+    }
+
+    public void close() {
+        points = null;
+    }
+
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("OffHeapTabulatedFunction{");
+        sb.append("pointsCount=").append(pointsCount);
+        sb.append(", points=[");
+        for (int i = 0; i < pointsCount; i++) {
+            if (i > 0) sb.append(", ");
+            sb.append('(').append(x(i)).append(", ").append(y(i)).append(')');
+        }
+        sb.append("]}");
+        return sb.toString();
+    }
+}
\ No newline at end of file
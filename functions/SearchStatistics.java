@@ -0,0 +1,51 @@
+package functions;
+
+import java.util.concurrent.atomic.LongAdder;
+
+public final class SearchStatistics {
+    private final LongAdder searches = new LongAdder();
+    private final LongAdder steps = new LongAdder();
+    private final LongAdder cacheHits = new LongAdder();
+
+    void record(int steps, boolean cacheHit) {
+        searches.increment();
+        this.steps.add(steps);
+        if (cacheHit) {
+            cacheHits.increment();
+        }
+    }
+
+    public long getSearchCount() {
+        return searches.sum();
+    }
+
+    public long getStepCount() {
+        return steps.sum();
+    }
+
+    public long getCacheHitCount() {
+        return cacheHits.sum();
+    }
+
+    public double getAverageSearchLength() {
+        long count = searches.sum();
+        return count == 0 ? 0.0 : (double) steps.sum() / count;
+    }
+
+    public double getCacheHitRate() {
+        long count = searches.sum();
+        return count == 0 ? 0.0 : (double) cacheHits.sum() / count;
+    }
+
+    public void reset() {
+        searches.reset();
+        steps.reset();
+        cacheHits.reset();
+    }
+
+    public String toString() {
+        return "SearchStatistics{searches=" + getSearchCount() +
+            ", averageLength=" + getAverageSearchLength() +
+            ", cacheHitRate=" + getCacheHitRate() + "}";
+    }
+}
\ No newline at end of file
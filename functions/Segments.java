@@ -0,0 +1,118 @@
+package functions;
+
+final class Segments {
+    private static final double EPSILON = 1e-10;
+    private static final int WALK_STEPS = 8;
+
+    interface Abscissas {
+        double x(int index);
+    }
+
+    private Segments() {
+    }
+
+    static int find(double[] xValues, int pointsCount, double x) {
+        return find(xValues, pointsCount, x, null);
+    }
+
+    static int find(double[] xValues, int pointsCount, double x, SearchStatistics statistics) {
+        int low = 0;
+        int high = pointsCount - 2;
+        int probes = 0;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            probes++;
+            if (xValues[middle] <= x) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        if (statistics != null) {
+            statistics.record(probes, false);
+        }
+        return low;
+    }
+
+    static int find(Abscissas xs, int pointsCount, double x) {
+        int low = 0;
+        int high = pointsCount - 2;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (xs.x(middle) <= x) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    static int walk(double[] xValues, int pointsCount, int i, double x) {
+        for (int steps = 0; i < pointsCount - 2 && x > xValues[i + 1]; steps++) {
+            if (steps == WALK_STEPS) {
+                return -1;
+            }
+            i++;
+        }
+        return i;
+    }
+
+    static int walk(Abscissas xs, int pointsCount, int i, double x) {
+        for (int steps = 0; i < pointsCount - 2 && x > xs.x(i + 1); steps++) {
+            if (steps == WALK_STEPS) {
+                return -1;
+            }
+            i++;
+        }
+        return i;
+    }
+
+    static int locate(double[] xValues, int pointsCount, int i, double previousX, double x) {
+        if (x >= previousX) {
+            int next = walk(xValues, pointsCount, i, x);
+            if (next >= 0) {
+                return next;
+            }
+        }
+        return find(xValues, pointsCount, x);
+    }
+
+    static int locate(Abscissas xs, int pointsCount, int i, double previousX, double x) {
+        if (x >= previousX) {
+            int next = walk(xs, pointsCount, i, x);
+            if (next >= 0) {
+                return next;
+            }
+        }
+        return find(xs, pointsCount, x);
+    }
+
+    static boolean fits(double previousX, double nextX, double x, boolean strict) {
+        boolean afterPrevious = x > previousX || (!strict && Math.abs(x - previousX) < EPSILON);
+        boolean beforeNext = x < nextX || (!strict && Math.abs(x - nextX) < EPSILON);
+        return afterPrevious && beforeNext;
+    }
+
+    static boolean fitsAt(double[] xValues, int pointsCount, int index, double x, boolean strict) {
+        return fits(index > 0 ? xValues[index - 1] : Double.NEGATIVE_INFINITY,
+            index < pointsCount - 1 ? xValues[index + 1] : Double.POSITIVE_INFINITY, x, strict);
+    }
+
+    static boolean fitsAt(Abscissas xs, int pointsCount, int index, double x, boolean strict) {
+        return fits(index > 0 ? xs.x(index - 1) : Double.NEGATIVE_INFINITY,
+            index < pointsCount - 1 ? xs.x(index + 1) : Double.POSITIVE_INFINITY, x, strict);
+    }
+
+    static InappropriateFunctionPointException outOfOrder(double[] xValues, int pointsCount, int index, double x) {
+        return InappropriateFunctionPointException.outOfOrder(x,
+            index > 0 ? xValues[index - 1] : Double.NEGATIVE_INFINITY,
+            index < pointsCount - 1 ? xValues[index + 1] : Double.POSITIVE_INFINITY);
+    }
+
+    static InappropriateFunctionPointException outOfOrder(Abscissas xs, int pointsCount, int index, double x) {
+        return InappropriateFunctionPointException.outOfOrder(x,
+            index > 0 ? xs.x(index - 1) : Double.NEGATIVE_INFINITY,
+            index < pointsCount - 1 ? xs.x(index + 1) : Double.POSITIVE_INFINITY);
+    }
+}
\ No newline at end of file
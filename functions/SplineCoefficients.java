@@ -0,0 +1,94 @@
+package functions;
+
+final class SplineCoefficients {
+    private SplineCoefficients() {
+    }
+
+    static double interiorDerivative(double h0, double s0, double h1, double s1) {
+        if (!(s0 * s1 > 0)) {
+            return 0.0;
+        }
+        double w0 = 2 * h1 + h0;
+        double w1 = h1 + 2 * h0;
+        return (w0 + w1) / (w0 / s0 + w1 / s1);
+    }
+
+    static double endDerivative(double h0, double s0, double h1, double s1) {
+        double d = ((2 * h0 + h1) * s0 - h0 * s1) / (h0 + h1);
+        if (Math.signum(d) != Math.signum(s0)) {
+            return 0.0;
+        }
+        if (Math.signum(s0) != Math.signum(s1) && Math.abs(d) > Math.abs(3 * s0)) {
+            return 3 * s0;
+        }
+        return d;
+    }
+
+    static void naturalDerivatives(double[] xValues, double[] slopes, int count,
+                                   double[] derivatives, double[] scratch) {
+        int last = count - 1;
+        scratch[0] = 0.5;
+        derivatives[0] = 1.5 * slopes[0];
+        for (int i = 1; i < last; i++) {
+            double h0 = xValues[i] - xValues[i - 1];
+            double h1 = xValues[i + 1] - xValues[i];
+            double m = 2 * (h0 + h1) - h1 * scratch[i - 1];
+            scratch[i] = h0 / m;
+            derivatives[i] = (3 * (h1 * slopes[i - 1] + h0 * slopes[i]) - h1 * derivatives[i - 1]) / m;
+        }
+        derivatives[last] = (3 * slopes[last - 1] - derivatives[last - 1]) / (2 - scratch[last - 1]);
+        for (int i = last - 1; i >= 0; i--) {
+            derivatives[i] -= scratch[i] * derivatives[i + 1];
+        }
+    }
+
+    static double quadratic(double h, double slope, double d0, double d1) {
+        return (3 * slope - 2 * d0 - d1) / h;
+    }
+
+    static double cubic(double h, double slope, double d0, double d1) {
+        return (d0 + d1 - 2 * slope) / (h * h);
+    }
+
+    static double evaluate(double y, double d, double quadratic, double cubic, double dx) {
+        return y + dx * (d + dx * (quadratic + dx * cubic));
+    }
+
+    static double criticalPoint(double d, double quadratic, double cubic, double h, int which) {
+        double a = 3 * cubic;
+        double b = 2 * quadratic;
+        double t0;
+        double t1;
+        if (a == 0) {
+            t0 = b != 0 ? -d / b : Double.NaN;
+            t1 = Double.NaN;
+        } else {
+            double discriminant = b * b - 4 * a * d;
+            if (discriminant < 0) {
+                return Double.NaN;
+            }
+            double q = -0.5 * (b + Math.copySign(Math.sqrt(discriminant), b));
+            t0 = q / a;
+            t1 = q != 0 ? d / q : t0;
+            if (t0 > t1) {
+                double t = t0;
+                t0 = t1;
+                t1 = t;
+            }
+        }
+        boolean firstInside = t0 > 0 && t0 < h;
+        boolean secondInside = t1 > 0 && t1 < h && t1 != t0;
+        if (which == 0) {
+            return firstInside ? t0 : secondInside ? t1 : Double.NaN;
+        }
+        return firstInside && secondInside ? t1 : Double.NaN;
+    }
+
+    static double partialArea(double y, double d, double quadratic, double cubic, double dx) {
+        return dx * (y + dx * (d * 0.5 + dx * (quadratic / 3 + dx * cubic * 0.25)));
+    }
+
+    static double area(double h, double y0, double y1, double d0, double d1) {
+        return h * (y0 + y1) * 0.5 + h * h * (d0 - d1) / 12;
+    }
+}
\ No newline at end of file
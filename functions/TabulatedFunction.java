@@ -8,12 +8,39 @@ public interface TabulatedFunction {
     
     double getFunctionValue(double x);
     
+    default void getFunctionValues(double[] xs, double[] out) {
+        getFunctionValues(xs, 0, out, 0, xs.length);
+    }
+    
+    default void getFunctionValues(double[] xs, int xsOffset, double[] out, int outOffset, int length) {
+        if (xsOffset < 0 || outOffset < 0 || length < 0 ||
+            length > xs.length - xsOffset || length > out.length - outOffset) {
+            throw new IllegalArgumentException("Диапазон выходит за границы массива");
+        }
+        for (int k = 0; k < length; k++) {
+            out[outOffset + k] = getFunctionValue(xs[xsOffset + k]);
+        }
+    }
+    
     int getPointsCount();
     
     FunctionPoint getPoint(int index);
     
+    default FunctionPointCursor cursor() {
+        return new IndexedCursor(this);
+    }
+    
     void setPoint(int index, FunctionPoint point) throws InappropriateFunctionPointException;
     
+    default boolean trySetPoint(int index, FunctionPoint point) {
+        try {
+            setPoint(index, point);
+            return true;
+        } catch (InappropriateFunctionPointException e) {
+            return false;
+        }
+    }
+    
     double getPointX(int index);
     
     double getPointY(int index);
@@ -25,4 +52,13 @@ public interface TabulatedFunction {
     void deletePoint(int index);
     
     void addPoint(FunctionPoint point) throws InappropriateFunctionPointException;
+    
+    default boolean tryAddPoint(FunctionPoint point) {
+        try {
+            addPoint(point);
+            return true;
+        } catch (InappropriateFunctionPointException e) {
+            return false;
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,400 @@
+package functions;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+public class TabulatedFunctionIO {
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int MAX_INITIAL_CAPACITY = 1 << 16;
+    private static final double EPSILON = 1e-10;
+    private static final byte[] BOM = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private TabulatedFunctionIO() {
+    }
+
+    private static class PointBuffer {
+        private double[] xValues;
+        private double[] yValues;
+        private int count;
+
+        PointBuffer(int capacity) {
+            xValues = new double[Math.max(capacity, 2)];
+            yValues = new double[Math.max(capacity, 2)];
+        }
+
+        void add(double x, double y) {
+            if (count == xValues.length) {
+                int capacity = xValues.length + xValues.length / 2 + 1;
+                double[] newXValues = new double[capacity];
+                double[] newYValues = new double[capacity];
+                System.arraycopy(xValues, 0, newXValues, 0, count);
+                System.arraycopy(yValues, 0, newYValues, 0, count);
+                xValues = newXValues;
+                yValues = newYValues;
+            }
+            xValues[count] = x;
+            yValues[count] = y;
+            count++;
+        }
+
+        void checkOrder() throws InappropriateFunctionPointException {
+            if (count < 2) {
+                throw new IllegalArgumentException("Количество точек не может быть меньше двух");
+            }
+            for (int i = 1; i < count; i++) {
+                double x = xValues[i];
+                double previousX = xValues[i - 1];
+                if (!(x > previousX) || Math.abs(x - previousX) < EPSILON) {
+                    throw new InappropriateFunctionPointException(
+                        "Точка с x=" + x + " нарушает упорядоченность функции (предыдущая x=" + previousX + ")"
+                    );
+                }
+            }
+        }
+    }
+
+    public static ArrayTabulatedFunction readCsv(ReadableByteChannel channel)
+            throws IOException, InappropriateFunctionPointException {
+        PointBuffer points = parseCsv(channel);
+        points.checkOrder();
+        return new ArrayTabulatedFunction(points.xValues, points.yValues, points.count);
+    }
+
+    public static LinkedListTabulatedFunction readCsvToLinkedList(ReadableByteChannel channel)
+            throws IOException, InappropriateFunctionPointException {
+        PointBuffer points = parseCsv(channel);
+        points.checkOrder();
+        return new LinkedListTabulatedFunction(points.xValues, points.yValues, points.count);
+    }
+
+    public static ArrayTabulatedFunction readBinary(ReadableByteChannel channel)
+            throws IOException, InappropriateFunctionPointException {
+        PointBuffer points = parseBinary(channel);
+        points.checkOrder();
+        return new ArrayTabulatedFunction(points.xValues, points.yValues, points.count);
+    }
+
+    public static LinkedListTabulatedFunction readBinaryToLinkedList(ReadableByteChannel channel)
+            throws IOException, InappropriateFunctionPointException {
+        PointBuffer points = parseBinary(channel);
+        points.checkOrder();
+        return new LinkedListTabulatedFunction(points.xValues, points.yValues, points.count);
+    }
+
+    public static void writeCsv(TabulatedFunction function, WritableByteChannel channel) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        FunctionPointCursor cursor = function.cursor();
+        while (cursor.next()) {
+            if (buffer.remaining() < 64) {
+                flush(buffer, channel);
+            }
+            putAscii(buffer, Double.toString(cursor.getX()));
+            buffer.put((byte) ',');
+            putAscii(buffer, Double.toString(cursor.getY()));
+            buffer.put((byte) '\n');
+        }
+        flush(buffer, channel);
+    }
+
+    public static void writeBinary(TabulatedFunction function, WritableByteChannel channel) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MappedTabulatedFunction.MAGIC);
+        buffer.putInt(MappedTabulatedFunction.VERSION);
+        buffer.putLong(function.getPointsCount());
+        buffer.putDouble(function.getLeftDomainBorder());
+        buffer.putDouble(function.getRightDomainBorder());
+
+        FunctionPointCursor cursor = function.cursor();
+        while (cursor.next()) {
+            if (buffer.remaining() < MappedTabulatedFunction.POINT_SIZE) {
+                flush(buffer, channel);
+            }
+            buffer.putDouble(cursor.getX());
+            buffer.putDouble(cursor.getY());
+        }
+        flush(buffer, channel);
+    }
+
+    private static void putAscii(ByteBuffer buffer, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            buffer.put((byte) value.charAt(i));
+        }
+    }
+
+    private static void flush(ByteBuffer buffer, WritableByteChannel channel) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private static boolean fill(ByteBuffer buffer, ReadableByteChannel channel) throws IOException {
+        buffer.compact();
+        int read = 0;
+        while (buffer.hasRemaining() && (read = channel.read(buffer)) > 0) {
+        }
+        buffer.flip();
+        return read >= 0 || buffer.hasRemaining();
+    }
+
+    private static PointBuffer parseBinary(ReadableByteChannel channel) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.flip();
+
+        while (buffer.remaining() < MappedTabulatedFunction.HEADER_SIZE) {
+            int before = buffer.remaining();
+            fill(buffer, channel);
+            if (buffer.remaining() == before) {
+                throw new IOException("Некорректный формат файла: отсутствует заголовок");
+            }
+        }
+        if (buffer.getInt() != MappedTabulatedFunction.MAGIC || buffer.getInt() != MappedTabulatedFunction.VERSION) {
+            throw new IOException("Некорректный формат файла: неизвестная сигнатура или версия");
+        }
+        long count = buffer.getLong();
+        buffer.getDouble();
+        buffer.getDouble();
+        if (count < 0 || count > Integer.MAX_VALUE - 8) {
+            throw new IOException("Некорректный формат файла: количество точек " + count);
+        }
+
+        PointBuffer points = new PointBuffer((int) Math.min(count, MAX_INITIAL_CAPACITY));
+        while (points.count < count) {
+            if (buffer.remaining() < MappedTabulatedFunction.POINT_SIZE) {
+                int before = buffer.remaining();
+                fill(buffer, channel);
+                if (buffer.remaining() == before) {
+                    throw new IOException("Некорректный формат файла: ожидалось " + count + " точек, прочитано " + points.count);
+                }
+                continue;
+            }
+            points.add(buffer.getDouble(), buffer.getDouble());
+        }
+        return points;
+    }
+
+    private static PointBuffer parseCsv(ReadableByteChannel channel) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        buffer.flip();
+        PointBuffer points = new PointBuffer(1024);
+
+        byte[] token = new byte[64];
+        int tokenLength = 0;
+        double x = 0;
+        int field = 0;
+        long line = 1;
+        boolean comment = false;
+        boolean header = false;
+        boolean truncated = false;
+        boolean spaced = false;
+        boolean split = false;
+        boolean eof = false;
+        int bomLength = 0;
+
+        while (true) {
+            if (!buffer.hasRemaining()) {
+                if (!eof) {
+                    eof = !fill(buffer, channel);
+                    continue;
+                }
+            }
+
+            byte b = buffer.hasRemaining() ? buffer.get() : (byte) '\n';
+            if (line == 1 && field == 0 && tokenLength == 0 && bomLength < 3 && b == BOM[bomLength]) {
+                bomLength++;
+                continue;
+            }
+            if (b == '\n') {
+                if (truncated && !header) {
+                    throw new IOException("Некорректная строка " + line + " CSV-файла: слишком длинное значение");
+                }
+                if (split && !header) {
+                    throw new IOException("Некорректная строка " + line + " CSV-файла: пробел внутри значения");
+                }
+                if (header) {
+                    if (!truncated && !split && isNumber(token, tokenLength)) {
+                        throw new IOException("Некорректная строка " + line + " CSV-файла: не удалось разобрать число");
+                    }
+                } else if (!comment) {
+                    if (field == 1) {
+                        points.add(x, parseDouble(token, tokenLength, line));
+                    } else if (field != 0 || tokenLength != 0) {
+                        throw new IOException("Некорректная строка " + line + " CSV-файла: ожидалось два значения");
+                    }
+                }
+                if (eof && !buffer.hasRemaining()) {
+                    return points;
+                }
+                tokenLength = 0;
+                field = 0;
+                comment = false;
+                header = false;
+                truncated = false;
+                spaced = false;
+                split = false;
+                line++;
+            } else if (comment || b == '\r') {
+                continue;
+            } else if (b == ' ' || b == '\t') {
+                spaced = tokenLength > 0 || truncated;
+            } else if (b == ',' || b == ';') {
+                if (field != 0) {
+                    throw new IOException("Некорректная строка " + line + " CSV-файла: лишнее значение");
+                }
+                if (line == 1 && (truncated || split || !isNumber(token, tokenLength))) {
+                    header = true;
+                    truncated = false;
+                } else {
+                    x = parseDouble(token, tokenLength, line);
+                }
+                tokenLength = 0;
+                spaced = false;
+                split = false;
+                field = 1;
+            } else if (b == '#' && field == 0 && tokenLength == 0) {
+                comment = true;
+            } else {
+                if (spaced) {
+                    if (line != 1) {
+                        throw new IOException("Некорректная строка " + line + " CSV-файла: пробел внутри значения");
+                    }
+                    spaced = false;
+                    split = true;
+                }
+                if (tokenLength == token.length) {
+                    if (line == 1) {
+                        truncated = true;
+                        continue;
+                    }
+                    throw new IOException("Некорректная строка " + line + " CSV-файла: слишком длинное значение");
+                }
+                token[tokenLength++] = b;
+            }
+        }
+    }
+
+    private static boolean isNumber(byte[] token, int length) {
+        try {
+            parseDouble(token, length, 0);
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static double parseDouble(byte[] token, int length, long line) throws IOException {
+        int i = 0;
+        boolean negative = false;
+        if (i < length && (token[i] == '-' || token[i] == '+')) {
+            negative = token[i] == '-';
+            i++;
+        }
+
+        long mantissa = 0;
+        int digits = 0;
+        int exponent = 0;
+        boolean seenDigit = false;
+        boolean fast = true;
+
+        for (; i < length && token[i] >= '0' && token[i] <= '9'; i++) {
+            seenDigit = true;
+            if (mantissa != 0 || token[i] != '0') {
+                mantissa = mantissa * 10 + (token[i] - '0');
+                if (++digits > 15) {
+                    fast = false;
+                    break;
+                }
+            }
+        }
+        if (fast && i < length && token[i] == '.') {
+            for (i++; i < length && token[i] >= '0' && token[i] <= '9'; i++) {
+                seenDigit = true;
+                if (mantissa != 0 || token[i] != '0') {
+                    mantissa = mantissa * 10 + (token[i] - '0');
+                    if (++digits > 15) {
+                        fast = false;
+                        break;
+                    }
+                }
+                exponent--;
+            }
+        }
+        if (fast && seenDigit && i < length && (token[i] == 'e' || token[i] == 'E')) {
+            i++;
+            boolean negativeExponent = false;
+            if (i < length && (token[i] == '-' || token[i] == '+')) {
+                negativeExponent = token[i] == '-';
+                i++;
+            }
+            int value = 0;
+            int start = i;
+            for (; i < length && token[i] >= '0' && token[i] <= '9' && value < 10000; i++) {
+                value = value * 10 + (token[i] - '0');
+            }
+            fast = i > start;
+            exponent += negativeExponent ? -value : value;
+        }
+
+        if (fast && seenDigit && i == length && exponent >= -22 && exponent <= 22) {
+            double result = (double) mantissa;
+            result = exponent < 0 ? result / POWERS_OF_TEN[-exponent] : result * POWERS_OF_TEN[exponent];
+            return negative ? -result : result;
+        }
+
+        String text = new String(token, 0, length, StandardCharsets.US_ASCII);
+        if (!isPlainDecimal(token, length) && !text.equals("NaN") && !text.equals("Infinity") && !text.equals("-Infinity")) {
+            throw new IOException("Некорректная строка " + line + " CSV-файла: не удалось разобрать число");
+        }
+        try {
+            return Double.parseDouble(text);
+        } catch (NumberFormatException e) {
+            throw new IOException("Некорректная строка " + line + " CSV-файла: не удалось разобрать число", e);
+        }
+    }
+
+    private static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+
+    private static boolean isPlainDecimal(byte[] token, int length) {
+        int i = 0;
+        if (i < length && (token[i] == '-' || token[i] == '+')) {
+            i++;
+        }
+        int digits = 0;
+        for (; i < length && isDigit(token[i]); i++) {
+            digits++;
+        }
+        if (i < length && token[i] == '.') {
+            for (i++; i < length && isDigit(token[i]); i++) {
+                digits++;
+            }
+        }
+        if (digits == 0) {
+            return false;
+        }
+        if (i < length && (token[i] == 'e' || token[i] == 'E')) {
+            i++;
+            if (i < length && (token[i] == '-' || token[i] == '+')) {
+                i++;
+            }
+            int start = i;
+            while (i < length && isDigit(token[i])) {
+                i++;
+            }
+            if (i == start) {
+                return false;
+            }
+        }
+        return i == length;
+    }
+}
\ No newline at end of file
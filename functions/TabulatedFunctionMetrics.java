@@ -0,0 +1,95 @@
+package functions;
+
+public final class TabulatedFunctionMetrics {
+    private final long lookupCount;
+    private final long outOfDomainCount;
+    private final long mutationCount;
+    private final long rejectedMutationCount;
+    private final long searchCount;
+    private final long searchStepCount;
+    private final long cacheHitCount;
+    private final long[] latencyHistogram;
+
+    TabulatedFunctionMetrics(long lookupCount, long outOfDomainCount, long mutationCount, long rejectedMutationCount,
+                             long searchCount, long searchStepCount, long cacheHitCount, long[] latencyHistogram) {
+        this.lookupCount = lookupCount;
+        this.outOfDomainCount = outOfDomainCount;
+        this.mutationCount = mutationCount;
+        this.rejectedMutationCount = rejectedMutationCount;
+        this.searchCount = searchCount;
+        this.searchStepCount = searchStepCount;
+        this.cacheHitCount = cacheHitCount;
+        this.latencyHistogram = latencyHistogram;
+    }
+
+    public long getLookupCount() {
+        return lookupCount;
+    }
+
+    public long getOutOfDomainCount() {
+        return outOfDomainCount;
+    }
+
+    public double getOutOfDomainRate() {
+        return lookupCount == 0 ? 0.0 : (double) outOfDomainCount / lookupCount;
+    }
+
+    public long getMutationCount() {
+        return mutationCount;
+    }
+
+    public long getRejectedMutationCount() {
+        return rejectedMutationCount;
+    }
+
+    public long getSearchCount() {
+        return searchCount;
+    }
+
+    public double getAverageSearchLength() {
+        return searchCount == 0 ? 0.0 : (double) searchStepCount / searchCount;
+    }
+
+    public double getCacheHitRate() {
+        return searchCount == 0 ? 0.0 : (double) cacheHitCount / searchCount;
+    }
+
+    public long[] getLatencyHistogram() {
+        return latencyHistogram.clone();
+    }
+
+    public long getLatencyPercentileNanos(double percentile) {
+        if (!(percentile >= 0 && percentile <= 100)) {
+            throw new IllegalArgumentException("Перцентиль должен лежать в интервале [0, 100]");
+        }
+
+        long total = 0;
+        for (long count : latencyHistogram) {
+            total += count;
+        }
+        if (total == 0) {
+            return 0;
+        }
+
+        long rank = (long) Math.ceil(total * percentile / 100.0);
+        long seen = 0;
+        for (int bucket = 0; bucket < latencyHistogram.length; bucket++) {
+            seen += latencyHistogram[bucket];
+            if (seen >= Math.max(rank, 1)) {
+                return bucket == 0 ? 0 : (1L << bucket) - 1;
+            }
+        }
+        return Long.MAX_VALUE;
+    }
+
+    public String toString() {
+        return "TabulatedFunctionMetrics{lookups=" + lookupCount +
+            ", outOfDomain=" + outOfDomainCount +
+            ", mutations=" + mutationCount +
+            ", rejectedMutations=" + rejectedMutationCount +
+            ", averageSearchLength=" + getAverageSearchLength() +
+            ", cacheHitRate=" + getCacheHitRate() +
+            ", latencyP50=" + getLatencyPercentileNanos(50) + "ns" +
+            ", latencyP99=" + getLatencyPercentileNanos(99) + "ns}";
+    }
+}
\ No newline at end of file
@@ -0,0 +1,511 @@
+package functions;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleUnaryOperator;
+
+public class TabulatedFunctions {
+    private static final int TABULATE_CHUNK = 1 << 13;
+    private static final int REFINE_MAX_DEPTH = 48;
+    private static final int REFINE_INITIAL_POINTS = 17;
+    private static final double EPSILON = 1e-10;
+
+    private TabulatedFunctions() {
+    }
+
+    private static class TabulateTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final DoubleUnaryOperator function;
+        private final double leftX;
+        private final double step;
+        private final double[] xValues;
+        private final double[] yValues;
+        private final int from;
+        private final int to;
+
+        TabulateTask(DoubleUnaryOperator function, double leftX, double step,
+                     double[] xValues, double[] yValues, int from, int to) {
+            this.function = function;
+            this.leftX = leftX;
+            this.step = step;
+            this.xValues = xValues;
+            this.yValues = yValues;
+            this.from = from;
+            this.to = to;
+        }
+
+        protected void compute() {
+            if (to - from <= TABULATE_CHUNK) {
+                for (int i = from; i < to; i++) {
+                    double x = leftX + i * step;
+                    xValues[i] = x;
+                    yValues[i] = function.applyAsDouble(x);
+                }
+                return;
+            }
+
+            int middle = (from + to) >>> 1;
+            invokeAll(
+                new TabulateTask(function, leftX, step, xValues, yValues, from, middle),
+                new TabulateTask(function, leftX, step, xValues, yValues, middle, to)
+            );
+        }
+    }
+
+    public static ArrayTabulatedFunction tabulate(DoubleUnaryOperator function, double leftX, double rightX, int pointsCount) {
+        return tabulate(function, leftX, rightX, pointsCount, ForkJoinPool.commonPool());
+    }
+
+    public static ArrayTabulatedFunction tabulate(DoubleUnaryOperator function, double leftX, double rightX,
+                                                  int pointsCount, ForkJoinPool pool) {
+        if (leftX >= rightX) {
+            throw new IllegalArgumentException("Левая граница области определения не может быть больше или равна правой");
+        }
+        if (pointsCount < 2) {
+            throw new IllegalArgumentException("Количество точек не может быть меньше двух");
+        }
+
+        double[] xValues = new double[pointsCount];
+        double[] yValues = new double[pointsCount];
+        double step = (rightX - leftX) / (pointsCount - 1);
+        TabulateTask task = new TabulateTask(function, leftX, step, xValues, yValues, 0, pointsCount);
+        if (pointsCount <= TABULATE_CHUNK) {
+            task.compute();
+        } else {
+            pool.invoke(task);
+        }
+        return new ArrayTabulatedFunction(xValues, yValues, step);
+    }
+
+    public static ArrayTabulatedFunction simplify(TabulatedFunction function, double epsilon) {
+        if (!(epsilon >= 0)) {
+            throw new IllegalArgumentException("Допустимая погрешность не может быть отрицательной");
+        }
+
+        int count = function.getPointsCount();
+        double[] xValues = new double[count];
+        double[] yValues = new double[count];
+        FunctionPointCursor cursor = function.cursor();
+        for (int i = 0; i < count && cursor.next(); i++) {
+            xValues[i] = cursor.getX();
+            yValues[i] = cursor.getY();
+        }
+
+        int kept = 1;
+        int anchor = 0;
+        double low = Double.NEGATIVE_INFINITY;
+        double high = Double.POSITIVE_INFINITY;
+        for (int j = 1; j < count; j++) {
+            double dx = xValues[j] - xValues[anchor];
+            double slope = (yValues[j] - yValues[anchor]) / dx;
+            if (!(slope >= low && slope <= high)) {
+                anchor = j - 1;
+                xValues[kept] = xValues[anchor];
+                yValues[kept] = yValues[anchor];
+                kept++;
+                dx = xValues[j] - xValues[anchor];
+                low = Double.NEGATIVE_INFINITY;
+                high = Double.POSITIVE_INFINITY;
+            }
+            low = Math.max(low, (yValues[j] - epsilon - yValues[anchor]) / dx);
+            high = Math.min(high, (yValues[j] + epsilon - yValues[anchor]) / dx);
+        }
+        xValues[kept] = xValues[count - 1];
+        yValues[kept] = yValues[count - 1];
+        kept++;
+
+        return new ArrayTabulatedFunction(Arrays.copyOf(xValues, kept), Arrays.copyOf(yValues, kept), kept);
+    }
+
+    public static ArrayTabulatedFunction refine(DoubleUnaryOperator function, double leftX, double rightX, double epsilon) {
+        return refine(function, leftX, rightX, REFINE_INITIAL_POINTS, epsilon);
+    }
+
+    public static ArrayTabulatedFunction refine(DoubleUnaryOperator function, double leftX, double rightX,
+                                                int initialPointsCount, double epsilon) {
+        if (leftX >= rightX) {
+            throw new IllegalArgumentException("Левая граница области определения не может быть больше или равна правой");
+        }
+        if (initialPointsCount < 2) {
+            throw new IllegalArgumentException("Количество точек не может быть меньше двух");
+        }
+        if (!(epsilon > 0)) {
+            throw new IllegalArgumentException("Допустимая погрешность должна быть положительной");
+        }
+
+        double[] xValues = new double[Math.max(initialPointsCount * 2, 64)];
+        double[] yValues = new double[xValues.length];
+        double[] stackX = new double[REFINE_MAX_DEPTH + 1];
+        double[] stackY = new double[REFINE_MAX_DEPTH + 1];
+        double[] stackMiddleY = new double[REFINE_MAX_DEPTH + 1];
+        double tolerance = epsilon * 0.5;
+        double step = (rightX - leftX) / (initialPointsCount - 1);
+
+        double a = leftX;
+        double fa = function.applyAsDouble(a);
+        xValues[0] = a;
+        yValues[0] = fa;
+        int count = 1;
+
+        for (int i = 1; i < initialPointsCount; i++) {
+            double b = i == initialPointsCount - 1 ? rightX : leftX + i * step;
+            int depth = 0;
+            stackX[0] = b;
+            stackY[0] = function.applyAsDouble(b);
+            stackMiddleY[0] = function.applyAsDouble((a + b) * 0.5);
+
+            while (depth >= 0) {
+                double top = stackX[depth];
+                double fTop = stackY[depth];
+                double middle = (a + top) * 0.5;
+                double quarter = (a + middle) * 0.5;
+                double threeQuarters = (middle + top) * 0.5;
+                if (depth < REFINE_MAX_DEPTH && quarter > a && threeQuarters < top) {
+                    double fMiddle = stackMiddleY[depth];
+                    double fQuarter = function.applyAsDouble(quarter);
+                    double fThreeQuarters = function.applyAsDouble(threeQuarters);
+                    double slope = (fTop - fa) / (top - a);
+                    if (!(Math.abs(fMiddle - (fa + slope * (middle - a))) <= tolerance &&
+                          Math.abs(fQuarter - (fa + slope * (quarter - a))) <= tolerance &&
+                          Math.abs(fThreeQuarters - (fa + slope * (threeQuarters - a))) <= tolerance)) {
+                        stackMiddleY[depth] = fThreeQuarters;
+                        depth++;
+                        stackX[depth] = middle;
+                        stackY[depth] = fMiddle;
+                        stackMiddleY[depth] = fQuarter;
+                        continue;
+                    }
+                }
+
+                if (count == xValues.length) {
+                    xValues = Arrays.copyOf(xValues, count + count / 2 + 1);
+                    yValues = Arrays.copyOf(yValues, xValues.length);
+                }
+                xValues[count] = top;
+                yValues[count] = fTop;
+                count++;
+                a = top;
+                fa = fTop;
+                depth--;
+            }
+        }
+
+        return new ArrayTabulatedFunction(Arrays.copyOf(xValues, count), Arrays.copyOf(yValues, count), count);
+    }
+
+    private static double[] readXValues(TabulatedFunction function) {
+        double[] xValues = new double[function.getPointsCount()];
+        FunctionPointCursor cursor = function.cursor();
+        for (int i = 0; i < xValues.length && cursor.next(); i++) {
+            xValues[i] = cursor.getX();
+        }
+        return xValues;
+    }
+
+    private static void checkGrid(double[] grid) {
+        if (grid.length < 2) {
+            throw new IllegalArgumentException("Количество точек не может быть меньше двух");
+        }
+        for (int i = 1; i < grid.length; i++) {
+            if (!(grid[i] > grid[i - 1]) || Math.abs(grid[i] - grid[i - 1]) < EPSILON) {
+                throw new IllegalArgumentException("Точки сетки должны строго возрастать");
+            }
+        }
+    }
+
+    private static double[] mergeGrids(TabulatedFunction f, TabulatedFunction g) {
+        double leftX = Math.max(f.getLeftDomainBorder(), g.getLeftDomainBorder());
+        double rightX = Math.min(f.getRightDomainBorder(), g.getRightDomainBorder());
+        if (!(rightX - leftX >= EPSILON)) {
+            throw new IllegalArgumentException("Области определения функций не пересекаются");
+        }
+
+        double[] a = readXValues(f);
+        double[] b = readXValues(g);
+        double[] merged = new double[a.length + b.length];
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < a.length || j < b.length) {
+            double x = (j == b.length || (i < a.length && a[i] <= b[j])) ? a[i++] : b[j++];
+            if (x < leftX || x > rightX) {
+                continue;
+            }
+            if (count > 0 && Math.abs(x - merged[count - 1]) < EPSILON) {
+                continue;
+            }
+            merged[count++] = x;
+        }
+        if (Math.abs(merged[count - 1] - rightX) < EPSILON) {
+            merged[count - 1] = rightX;
+        }
+        return Arrays.copyOf(merged, count);
+    }
+
+    private static ArrayTabulatedFunction combine(TabulatedFunction f, TabulatedFunction g, double[] grid,
+                                                  DoubleBinaryOperator operation) {
+        double[] yValues = new double[grid.length];
+        double[] gValues = new double[grid.length];
+        f.getFunctionValues(grid, yValues);
+        g.getFunctionValues(grid, gValues);
+        for (int i = 0; i < grid.length; i++) {
+            yValues[i] = operation.applyAsDouble(yValues[i], gValues[i]);
+        }
+        return new ArrayTabulatedFunction(grid, yValues, grid.length);
+    }
+
+    private static ArrayTabulatedFunction envelope(TabulatedFunction f, TabulatedFunction g, boolean maximum) {
+        double[] grid = mergeGrids(f, g);
+        double[] fValues = new double[grid.length];
+        double[] gValues = new double[grid.length];
+        f.getFunctionValues(grid, fValues);
+        g.getFunctionValues(grid, gValues);
+
+        double[] xValues = new double[grid.length * 2 - 1];
+        double[] yValues = new double[xValues.length];
+        int count = 0;
+        for (int i = 0; i < grid.length; i++) {
+            if (i > 0) {
+                double d0 = fValues[i - 1] - gValues[i - 1];
+                double d1 = fValues[i] - gValues[i];
+                if ((d0 < 0 && d1 > 0) || (d0 > 0 && d1 < 0)) {
+                    double x = grid[i - 1] + (grid[i] - grid[i - 1]) * d0 / (d0 - d1);
+                    if (x - grid[i - 1] >= EPSILON && grid[i] - x >= EPSILON) {
+                        xValues[count] = x;
+                        yValues[count] = fValues[i - 1] + (fValues[i] - fValues[i - 1]) * (x - grid[i - 1]) / (grid[i] - grid[i - 1]);
+                        count++;
+                    }
+                }
+            }
+            xValues[count] = grid[i];
+            yValues[count] = maximum ? Math.max(fValues[i], gValues[i]) : Math.min(fValues[i], gValues[i]);
+            count++;
+        }
+        return new ArrayTabulatedFunction(Arrays.copyOf(xValues, count), Arrays.copyOf(yValues, count), count);
+    }
+
+    public static ArrayTabulatedFunction sum(TabulatedFunction f, TabulatedFunction g) {
+        return combine(f, g, mergeGrids(f, g), (a, b) -> a + b);
+    }
+
+    public static ArrayTabulatedFunction sum(TabulatedFunction f, TabulatedFunction g, double[] grid) {
+        checkGrid(grid);
+        return combine(f, g, grid.clone(), (a, b) -> a + b);
+    }
+
+    public static ArrayTabulatedFunction difference(TabulatedFunction f, TabulatedFunction g) {
+        return combine(f, g, mergeGrids(f, g), (a, b) -> a - b);
+    }
+
+    public static ArrayTabulatedFunction difference(TabulatedFunction f, TabulatedFunction g, double[] grid) {
+        checkGrid(grid);
+        return combine(f, g, grid.clone(), (a, b) -> a - b);
+    }
+
+    public static ArrayTabulatedFunction product(TabulatedFunction f, TabulatedFunction g) {
+        return combine(f, g, mergeGrids(f, g), (a, b) -> a * b);
+    }
+
+    public static ArrayTabulatedFunction product(TabulatedFunction f, TabulatedFunction g, double[] grid) {
+        checkGrid(grid);
+        return combine(f, g, grid.clone(), (a, b) -> a * b);
+    }
+
+    public static ArrayTabulatedFunction quotient(TabulatedFunction f, TabulatedFunction g) {
+        return combine(f, g, mergeGrids(f, g), (a, b) -> a / b);
+    }
+
+    public static ArrayTabulatedFunction quotient(TabulatedFunction f, TabulatedFunction g, double[] grid) {
+        checkGrid(grid);
+        return combine(f, g, grid.clone(), (a, b) -> a / b);
+    }
+
+    public static ArrayTabulatedFunction min(TabulatedFunction f, TabulatedFunction g) {
+        return envelope(f, g, false);
+    }
+
+    public static ArrayTabulatedFunction min(TabulatedFunction f, TabulatedFunction g, double[] grid) {
+        checkGrid(grid);
+        return combine(f, g, grid.clone(), Math::min);
+    }
+
+    public static ArrayTabulatedFunction max(TabulatedFunction f, TabulatedFunction g) {
+        return envelope(f, g, true);
+    }
+
+    public static ArrayTabulatedFunction max(TabulatedFunction f, TabulatedFunction g, double[] grid) {
+        checkGrid(grid);
+        return combine(f, g, grid.clone(), Math::max);
+    }
+
+    public static ArrayTabulatedFunction compose(TabulatedFunction outer, TabulatedFunction inner) {
+        double[] outerX = readXValues(outer);
+        int count = inner.getPointsCount();
+        double[] innerX = new double[count];
+        double[] innerY = new double[count];
+        FunctionPointCursor cursor = inner.cursor();
+        for (int i = 0; i < count && cursor.next(); i++) {
+            innerX[i] = cursor.getX();
+            innerY[i] = cursor.getY();
+        }
+
+        double[] xValues = new double[count * 2];
+        double[] gValues = new double[xValues.length];
+        int size = 0;
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                double x0 = innerX[i - 1];
+                double y0 = innerY[i - 1];
+                double dx = innerX[i] - x0;
+                double dy = innerY[i] - y0;
+                double low = Math.min(y0, innerY[i]);
+                double high = Math.max(y0, innerY[i]);
+                int from = Arrays.binarySearch(outerX, low);
+                from = from >= 0 ? from + 1 : -from - 1;
+                int to = Arrays.binarySearch(outerX, high);
+                to = to >= 0 ? to - 1 : -to - 2;
+                for (int k = 0; k <= to - from; k++) {
+                    double breakpoint = outerX[dy > 0 ? from + k : to - k];
+                    double x = x0 + dx * (breakpoint - y0) / dy;
+                    if (x - xValues[size - 1] < EPSILON || innerX[i] - x < EPSILON) {
+                        continue;
+                    }
+                    if (size + 2 > xValues.length) {
+                        xValues = Arrays.copyOf(xValues, xValues.length * 2);
+                        gValues = Arrays.copyOf(gValues, xValues.length);
+                    }
+                    xValues[size] = x;
+                    gValues[size] = breakpoint;
+                    size++;
+                }
+            }
+            if (size + 1 > xValues.length) {
+                xValues = Arrays.copyOf(xValues, xValues.length * 2);
+                gValues = Arrays.copyOf(gValues, xValues.length);
+            }
+            xValues[size] = innerX[i];
+            gValues[size] = innerY[i];
+            size++;
+        }
+
+        double leftY = outerX[0];
+        double rightY = outerX[outerX.length - 1];
+        int first = -1;
+        int last = -1;
+        for (int i = 0; i < size; i++) {
+            if (gValues[i] >= leftY - EPSILON && gValues[i] <= rightY + EPSILON) {
+                if (last >= 0 && last != i - 1) {
+                    throw new IllegalArgumentException("Прообраз области определения внешней функции не является отрезком");
+                }
+                if (first < 0) {
+                    first = i;
+                }
+                last = i;
+                gValues[i] = Math.min(Math.max(gValues[i], leftY), rightY);
+            }
+        }
+        if (first < 0 || first == last) {
+            throw new IllegalArgumentException("Значения внутренней функции не попадают в область определения внешней");
+        }
+
+        int resultSize = last - first + 1;
+        double[] yValues = new double[resultSize];
+        outer.getFunctionValues(gValues, first, yValues, 0, resultSize);
+        return new ArrayTabulatedFunction(Arrays.copyOfRange(xValues, first, last + 1), yValues, resultSize);
+    }
+
+    public static ArrayTabulatedFunction compose(TabulatedFunction outer, TabulatedFunction inner, double[] grid) {
+        checkGrid(grid);
+        if (grid[0] < inner.getLeftDomainBorder() || grid[grid.length - 1] > inner.getRightDomainBorder()) {
+            throw new IllegalArgumentException("Сетка выходит за область определения внутренней функции");
+        }
+        double[] innerValues = new double[grid.length];
+        double[] yValues = new double[grid.length];
+        inner.getFunctionValues(grid, innerValues);
+        double leftY = outer.getLeftDomainBorder();
+        double rightY = outer.getRightDomainBorder();
+        for (double value : innerValues) {
+            if (!(value >= leftY && value <= rightY)) {
+                throw new IllegalArgumentException("Значения внутренней функции выходят за область определения внешней");
+            }
+        }
+        outer.getFunctionValues(innerValues, yValues);
+        return new ArrayTabulatedFunction(grid.clone(), yValues, grid.length);
+    }
+
+    public static double integrate(TabulatedFunction function, double a, double b) {
+        if (function instanceof ArrayTabulatedFunction) {
+            return ((ArrayTabulatedFunction) function).integrate(a, b);
+        }
+        if (function instanceof LinkedListTabulatedFunction) {
+            return ((LinkedListTabulatedFunction) function).integrate(a, b);
+        }
+        if (a > b) {
+            return -integrate(function, b, a);
+        }
+        if (!(a >= function.getLeftDomainBorder() && b <= function.getRightDomainBorder())) {
+            return Double.NaN;
+        }
+
+        FunctionPointCursor cursor = function.cursor();
+        cursor.next();
+        double x1 = cursor.getX();
+        double y1 = cursor.getY();
+        double result = 0;
+        while (cursor.next() && x1 < b) {
+            double x2 = cursor.getX();
+            double y2 = cursor.getY();
+            if (x2 > a) {
+                double slope = (y2 - y1) / (x2 - x1);
+                double from = Math.max(a, x1);
+                double to = Math.min(b, x2);
+                result += (to - from) * (y1 + slope * (from - x1) + y1 + slope * (to - x1)) * 0.5;
+            }
+            x1 = x2;
+            y1 = y2;
+        }
+        return result;
+    }
+
+    public static double[] findCrossings(TabulatedFunction function, double y) {
+        if (function instanceof ArrayTabulatedFunction) {
+            return ((ArrayTabulatedFunction) function).findCrossings(y);
+        }
+        if (function instanceof LinkedListTabulatedFunction) {
+            return ((LinkedListTabulatedFunction) function).findCrossings(y);
+        }
+        Crossings crossings = new Crossings(Integer.MAX_VALUE);
+        collectCrossings(function, y, crossings);
+        return crossings.toArray();
+    }
+
+    public static double inverse(TabulatedFunction function, double y) {
+        if (function instanceof ArrayTabulatedFunction) {
+            return ((ArrayTabulatedFunction) function).inverse(y);
+        }
+        if (function instanceof LinkedListTabulatedFunction) {
+            return ((LinkedListTabulatedFunction) function).inverse(y);
+        }
+        Crossings crossings = new Crossings(1);
+        collectCrossings(function, y, crossings);
+        return crossings.first();
+    }
+
+    private static void collectCrossings(TabulatedFunction function, double y, Crossings crossings) {
+        int count = function.getPointsCount();
+        FunctionPointCursor cursor = function.cursor();
+        cursor.next();
+        double x1 = cursor.getX();
+        double y1 = cursor.getY();
+        while (cursor.next() && !crossings.isFull()) {
+            double x2 = cursor.getX();
+            double y2 = cursor.getY();
+            crossings.addLinear(x1, x2 - x1, y1, y2, cursor.getIndex() == count - 1, y);
+            x1 = x2;
+            y1 = y2;
+        }
+    }
+}
\ No newline at end of file